@@ -0,0 +1,122 @@
+package com.juandlr.spring_boot_testing.coalescing;
+
+import com.juandlr.spring_boot_testing.config.EmployeeProperties;
+import com.juandlr.spring_boot_testing.config.MetricsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader, callers that
+ * arrive while it is running wait for and share its result, or its exception. Nothing is kept
+ * once the load completes, so this is not a cache. Beyond the configured number of distinct
+ * in-flight keys, callers load on their own instead of growing the map.
+ * <p>
+ * A writer calls {@link #invalidate} once its change is committed: a load of that key still in
+ * flight may have read the old row, so it is run again before its result is handed out.
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<Object, Flight> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int maxInFlightKeys;
+    private final Counter leaders;
+    private final Counter joined;
+    private final Counter bypassed;
+
+    public SingleFlight(EmployeeProperties employeeProperties, MeterRegistry meterRegistry) {
+        EmployeeProperties.Coalescing coalescing = employeeProperties.getCoalescing();
+        this.enabled = coalescing.isEnabled();
+        this.maxInFlightKeys = coalescing.getMaxInFlightKeys();
+        this.leaders = meterRegistry.counter(MetricsConfig.COALESCING_COUNTER, "outcome", "leader");
+        this.joined = meterRegistry.counter(MetricsConfig.COALESCING_COUNTER, "outcome", "joined");
+        this.bypassed = meterRegistry.counter(MetricsConfig.COALESCING_COUNTER, "outcome", "bypassed");
+        meterRegistry.gauge(MetricsConfig.COALESCING_IN_FLIGHT_GAUGE, inFlight, Map::size);
+        // share of calls answered by another caller's load
+        meterRegistry.gauge(MetricsConfig.COALESCING_RATIO_GAUGE, this, SingleFlight::coalescingRatio);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Flight existing = inFlight.get(key);
+        if (existing == null) {
+            if (inFlight.size() >= maxInFlightKeys) {
+                bypassed.increment();
+                return loader.get();
+            }
+            Flight created = new Flight();
+            existing = inFlight.putIfAbsent(key, created);
+            if (existing == null) {
+                leaders.increment();
+                return (T) load(key, created, loader);
+            }
+        }
+        joined.increment();
+        return (T) await(existing.result);
+    }
+
+    public void invalidate(Object key) {
+        Flight flight = inFlight.get(key);
+        if (flight != null) {
+            synchronized (flight) {
+                flight.stale = true;
+            }
+        }
+    }
+
+    double coalescingRatio() {
+        double total = leaders.count() + joined.count() + bypassed.count();
+        return total == 0 ? 0 : joined.count() / total;
+    }
+
+    // the key is released before the result is published, a caller arriving afterwards starts a fresh load
+    private Object load(Object key, Flight flight, Supplier<?> loader) {
+        try {
+            while (true) {
+                Object value = loader.get();
+                synchronized (flight) {
+                    if (!flight.stale) {
+                        inFlight.remove(key, flight);
+                        flight.result.complete(value);
+                        return value;
+                    }
+                    flight.stale = false;
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared load", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw (Error) e.getCause();
+        }
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        // guarded by the flight itself
+        private boolean stale;
+    }
+}
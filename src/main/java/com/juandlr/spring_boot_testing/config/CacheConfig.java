@@ -0,0 +1,37 @@
+package com.juandlr.spring_boot_testing.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.juandlr.spring_boot_testing.dto.EncodedEmployee;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String EMPLOYEES = "employees";
+    public static final String EMPLOYEE_RESPONSES = "employeeResponses";
+
+    // caches are declared up front so Actuator binds their hit/miss/eviction metrics at startup
+    @Bean
+    public CacheManager cacheManager(EmployeeProperties employeeProperties) {
+        EmployeeProperties.Cache cache = employeeProperties.getCache();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(EMPLOYEES);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfterWrite(cache.getTimeToLive())
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        // encoded GET /{id} bodies vary in size, so this one is bounded by bytes instead of entries
+        cacheManager.registerCustomCache(EMPLOYEE_RESPONSES, Caffeine.newBuilder()
+                .maximumWeight(cache.getResponseMaximumSize().toBytes())
+                .weigher((Object id, Object response) -> ((EncodedEmployee) response).weight())
+                .expireAfterWrite(cache.getTimeToLive())
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
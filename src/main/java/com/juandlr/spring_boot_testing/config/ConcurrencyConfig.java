@@ -0,0 +1,39 @@
+package com.juandlr.spring_boot_testing.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juandlr.spring_boot_testing.filter.ConcurrencyLimitFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "employees.concurrency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyConfig {
+
+    private static final String POOL_SIZE_PROPERTY = "spring.datasource.hikari.maximum-pool-size";
+
+    // Hikari's own default when maximum-pool-size is not set
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    // only the API is limited, so health checks and metrics keep answering under load
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(EmployeeProperties employeeProperties,
+                                                                                 Environment environment,
+                                                                                 ObjectMapper objectMapper) {
+        EmployeeProperties.Concurrency concurrency = employeeProperties.getConcurrency();
+        // read from the configuration rather than the pool: the DataSource bean may be a proxy or a
+        // router in front of it, and an unstarted pool does not report its size. With a replica this
+        // is the primary's pool, which every write goes through
+        int maxRequests = concurrency.getMaxRequests() != null ? concurrency.getMaxRequests()
+                : environment.getProperty(POOL_SIZE_PROPERTY, Integer.class, DEFAULT_POOL_SIZE)
+                        * concurrency.getRequestsPerConnection();
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(maxRequests, concurrency.getAcquireTimeout(), objectMapper));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,192 @@
+package com.juandlr.spring_boot_testing.config;
+
+import com.juandlr.spring_boot_testing.entity.generator.IdStrategy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "employees")
+@Getter @Setter
+public class EmployeeProperties {
+
+    private final Page page = new Page();
+    private final Export export = new Export();
+    private final Bulk bulk = new Bulk();
+    private final Id id = new Id();
+    private final Cache cache = new Cache();
+    private final Concurrency concurrency = new Concurrency();
+    private final Sql sql = new Sql();
+    private final Datasource datasource = new Datasource();
+    private final Ingestion ingestion = new Ingestion();
+    private final Search search = new Search();
+    private final Coalescing coalescing = new Coalescing();
+
+    @Getter @Setter
+    public static class Page {
+        // page size used when the client does not send a limit
+        private int defaultSize = 50;
+
+        // hard upper bound, whatever limit the client asks for
+        private int maxSize = 500;
+
+        public int resolveSize(Integer requestedSize) {
+            if (requestedSize == null) {
+                return defaultSize;
+            }
+            return Math.max(1, Math.min(requestedSize, maxSize));
+        }
+    }
+
+    @Getter @Setter
+    public static class Export {
+        // rows the JDBC driver pulls per round trip while streaming the export
+        private int fetchSize = 500;
+
+        // how long an export may stream before it is cut off, other async requests keep the container default
+        private Duration timeout = Duration.ofMinutes(30);
+    }
+
+    @Getter @Setter
+    public static class Bulk {
+        // largest array accepted by a single bulk create request
+        private int maxSize = 1000;
+    }
+
+    @Getter @Setter
+    public static class Id {
+        // SEQUENCE needs no per-instance setting; TSID ids are above 2^53, which JavaScript clients
+        // cannot read back exactly from a JSON number
+        private IdStrategy strategy = IdStrategy.SEQUENCE;
+
+        // TSID node of this instance (0-1023), must differ between running instances; required with
+        // the TSID strategy, e.g. EMPLOYEES_ID_NODE set from a StatefulSet pod index
+        private Integer node;
+
+        // SEQUENCE only: ids reserved per database round trip, and first value for a new sequence
+        private int incrementSize = 50;
+        private long initialValue = 1;
+
+        // two instances that picked the same node could hand out the same id, so there is no random fallback
+        public int requireNode() {
+            if (node == null) {
+                throw new IllegalStateException("employees.id.node must be set to a node (0-1023) that no other "
+                        + "running instance uses, or employees.id.strategy to sequence");
+            }
+            return node;
+        }
+    }
+
+    @Getter @Setter
+    public static class Cache {
+        // bounds of each employee cache, entries also expire this long after being loaded
+        private long maximumSize = 10_000;
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        // total size of the pre-encoded GET /api/employees/{id} bodies
+        private DataSize responseMaximumSize = DataSize.ofMegabytes(64);
+    }
+
+    @Getter @Setter
+    public static class Concurrency {
+        private boolean enabled = true;
+
+        // in-flight /api requests, defaults to spring.datasource.hikari.maximum-pool-size (10 when unset)
+        // times requests-per-connection when empty
+        private Integer maxRequests;
+
+        // a request spends most of its time outside the database (serialization, network, cache hits),
+        // so several requests share each pooled connection; EmployeeThreadModelBenchmark on H2 loses
+        // throughput below 16 and gains nothing above it
+        private int requestsPerConnection = 16;
+
+        // how long a request waits for a free slot before it is answered with 503
+        private Duration acquireTimeout = Duration.ofSeconds(1);
+    }
+
+    @Getter @Setter
+    public static class Sql {
+        // per-request statement counting, DB time and slow query logging for /api requests
+        private boolean monitoringEnabled = true;
+
+        // statements at or above this duration are logged, with their bind parameters masked
+        private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+        // statements (JDBC round trips) a request may issue before it is reported as over budget
+        private int statementBudget = 10;
+
+        // per handler pattern overrides of statementBudget, e.g. [/api/employees/bulk]=25
+        private Map<String, Integer> endpointBudgets = new HashMap<>();
+
+        public int statementBudget(String pattern) {
+            return endpointBudgets.getOrDefault(pattern, statementBudget);
+        }
+    }
+
+    @Getter @Setter
+    public static class Datasource {
+        private final Replica replica = new Replica();
+
+        // once a request has written, its later reads go to the primary instead of a possibly lagging replica
+        private boolean readYourWrites = true;
+    }
+
+    @Getter @Setter
+    public static class Replica {
+        // read-only transactions are routed here when set, everything else stays on spring.datasource
+        private String url;
+        private String username;
+        private String password;
+
+        // defaults to Hikari's own pool size when empty
+        private Integer maximumPoolSize;
+    }
+
+    @Getter @Setter
+    public static class Ingestion {
+        // clients opt in per request with "Prefer: respond-async"; when disabled the preference is ignored
+        private boolean enabled = true;
+
+        // accepted but not yet written creates, a full queue answers 429
+        private int queueCapacity = 10_000;
+
+        // creates written per saveEmployees call, at most bulk.max-size
+        private int batchSize = 500;
+
+        // tracking ids can be queried this long after their last change, the oldest go first beyond the maximum
+        private Duration statusTimeToLive = Duration.ofHours(1);
+        private long maxTrackedStatuses = 100_000;
+    }
+
+    @Getter @Setter
+    public static class Search {
+        // matches returned when the client does not send a limit, and the hard upper bound
+        private int defaultLimit = 10;
+        private int maxLimit = 50;
+
+        // build the index after start-up on its own thread instead of before the web server starts;
+        // searches answer 503 until it is built. Set by the deferred profile, where building it
+        // during start-up would wait for the EntityManagerFactory
+        private boolean buildInBackground;
+
+        public int resolveLimit(Integer requestedLimit) {
+            if (requestedLimit == null) {
+                return defaultLimit;
+            }
+            return Math.max(1, Math.min(requestedLimit, maxLimit));
+        }
+    }
+
+    @Getter @Setter
+    public static class Coalescing {
+        // concurrent reads of the same employee by id share one database load
+        private boolean enabled = true;
+
+        // distinct ids loaded at once through a shared load, further ids are loaded by each caller
+        private int maxInFlightKeys = 10_000;
+    }
+}
@@ -0,0 +1,25 @@
+package com.juandlr.spring_boot_testing.config;
+
+import com.juandlr.spring_boot_testing.entity.generator.EmployeeIdGenerator;
+import com.juandlr.spring_boot_testing.entity.generator.IdStrategy;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateConfig {
+
+    // hands the employees.id.* properties to EmployeeIdGenerator, which Hibernate instantiates itself
+    @Bean
+    public HibernatePropertiesCustomizer employeeIdPropertiesCustomizer(EmployeeProperties employeeProperties) {
+        return properties -> {
+            EmployeeProperties.Id id = employeeProperties.getId();
+            properties.put(EmployeeIdGenerator.STRATEGY_SETTING, id.getStrategy().name());
+            properties.put(EmployeeIdGenerator.INCREMENT_SIZE_SETTING, String.valueOf(id.getIncrementSize()));
+            properties.put(EmployeeIdGenerator.INITIAL_VALUE_SETTING, String.valueOf(id.getInitialValue()));
+            if (id.getStrategy() == IdStrategy.TSID) {
+                properties.put(EmployeeIdGenerator.NODE_SETTING, String.valueOf(id.requireNode()));
+            }
+        };
+    }
+}
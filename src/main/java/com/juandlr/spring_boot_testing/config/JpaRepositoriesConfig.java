@@ -0,0 +1,19 @@
+package com.juandlr.spring_boot_testing.config;
+
+import com.juandlr.spring_boot_testing.SpringBootTestingApplication;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+// the reactive package is compiled in by -Preactive and can linger in a non-clean target/classes;
+// JPA refuses the R2DBC repository it finds there, so it is left to the reactive profile.
+// Slices skip scanned @Configuration classes, so @DataJpaTest tests import this one
+@Configuration
+@Profile("!reactive")
+@EnableJpaRepositories(basePackageClasses = SpringBootTestingApplication.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX,
+                pattern = "com\\.juandlr\\.spring_boot_testing\\.reactive\\..*"))
+public class JpaRepositoriesConfig {
+}
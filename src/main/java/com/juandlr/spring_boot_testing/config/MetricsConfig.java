@@ -0,0 +1,24 @@
+package com.juandlr.spring_boot_testing.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "employees.service";
+    public static final String DUPLICATE_EMAIL_COUNTER = "employees.duplicate.email";
+    public static final String INGESTION_QUEUE_GAUGE = "employees.ingestion.queue.size";
+    public static final String INGESTION_REJECTED_COUNTER = "employees.ingestion.rejected";
+    public static final String COALESCING_COUNTER = "employees.coalescing.calls";
+    public static final String COALESCING_IN_FLIGHT_GAUGE = "employees.coalescing.in.flight";
+    public static final String COALESCING_RATIO_GAUGE = "employees.coalescing.ratio";
+
+    // backs the @Timed annotation on the service layer
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.juandlr.spring_boot_testing.config;
+
+import com.juandlr.spring_boot_testing.filter.SqlStatementBudgetFilter;
+import com.juandlr.spring_boot_testing.monitoring.SqlMonitoringListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "employees.sql", name = "monitoring-enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMonitoringConfig {
+
+    // static, and reading the properties lazily, so the post-processor does not pull beans in early
+    @Bean
+    public static BeanPostProcessor sqlMonitoringDataSourcePostProcessor(ObjectProvider<EmployeeProperties> employeeProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name("dataSource")
+                            .listener(new SqlMonitoringListener(employeeProperties.getObject().getSql().getSlowQueryThreshold()))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<SqlStatementBudgetFilter> sqlStatementBudgetFilter(EmployeeProperties employeeProperties,
+                                                                                   MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlStatementBudgetFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatementBudgetFilter(employeeProperties.getSql(), meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
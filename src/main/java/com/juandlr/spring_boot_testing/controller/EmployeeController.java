@@ -1,36 +1,130 @@
 package com.juandlr.spring_boot_testing.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juandlr.spring_boot_testing.config.EmployeeProperties;
+import com.juandlr.spring_boot_testing.dto.EmployeeBulkResult;
+import com.juandlr.spring_boot_testing.dto.EmployeeIngestionStatus;
+import com.juandlr.spring_boot_testing.dto.EmployeePage;
+import com.juandlr.spring_boot_testing.dto.EmployeePatch;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
 import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.ingestion.EmployeeIngestionQueue;
 import com.juandlr.spring_boot_testing.service.EmployeeService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/employees")
 @RequiredArgsConstructor
 public class EmployeeController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+    public static final String PREFER_HEADER = "Prefer";
+    public static final String RESPOND_ASYNC = "respond-async";
+
     private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<EmployeeIngestionQueue> employeeIngestionQueue;
+    private final EmployeeResponseCache employeeResponseCache;
+    private final EmployeeProperties employeeProperties;
 
+    // "Prefer: respond-async" only queues the create; without an ingestion queue the preference is ignored
     @PostMapping()
-    @ResponseStatus(HttpStatus.CREATED)
-    public Employee createEmployee(@RequestBody Employee employee){
-        return employeeService.saveEmployee(employee);
+    public ResponseEntity<?> createEmployee(@RequestBody Employee employee, @RequestHeader HttpHeaders headers){
+        EmployeeIngestionQueue queue = employeeIngestionQueue.getIfAvailable();
+        if (queue == null || !prefersRespondAsync(headers)) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(employeeService.saveEmployee(employee));
+        }
+        EmployeeIngestionStatus status = queue.submit(employee);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/employees/ingestions/" + status.trackingId()))
+                .header(PREFERENCE_APPLIED_HEADER, RESPOND_ASYNC)
+                .body(status);
+    }
+
+    @GetMapping("ingestions/{trackingId}")
+    public ResponseEntity<EmployeeIngestionStatus> getIngestionStatus(@PathVariable("trackingId") String trackingId){
+        return Optional.ofNullable(employeeIngestionQueue.getIfAvailable())
+                .flatMap(queue -> queue.getStatus(trackingId))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("bulk")
+    public List<EmployeeBulkResult> createEmployees(@RequestBody List<Employee> employees){
+        return employeeService.saveEmployees(employees);
     }
 
     @GetMapping
-    public List<Employee> getAllEmployees(){
-        return employeeService.getAllEmployees();
+    public ResponseEntity<List<EmployeeView>> getAllEmployees(@RequestParam(required = false) Long after,
+                                                              @RequestParam(required = false) Integer limit){
+        EmployeePage page = employeeService.getEmployeePage(after, limit);
+        // a matching If-None-Match is answered with 304 by Spring MVC before the body is serialized
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(EmployeeETags.of(page));
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+        }
+        return response.body(page.employees());
+    }
+
+    // an export may stream for minutes, so it gets its own async timeout instead of every async request
+    @GetMapping(value = "export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportEmployees(HttpServletResponse response){
+        return new WebAsyncTask<>(employeeProperties.getExport().getTimeout().toMillis(), () -> {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            OutputStream outputStream = response.getOutputStream();
+            employeeService.exportEmployees(employee -> writeLine(outputStream, employee));
+            outputStream.flush();
+            return null;
+        });
+    }
+
+    // type-ahead over first name, last name and email, served from the in-memory search index
+    @GetMapping("search")
+    public List<EmployeeView> searchEmployees(@RequestParam String q, @RequestParam(required = false) Integer limit){
+        return employeeService.searchEmployees(q, limit);
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId){
-        return employeeService.getEmployeeById(employeeId)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<?> getEmployeeById(@PathVariable("id") long employeeId, WebRequest request){
+        // conditional requests are checked against the version column only, without loading the employee
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = employeeService.getEmployeeVersion(employeeId);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (request.checkNotModified(EmployeeETags.of(version.get()))) {
+                return null;
+            }
+        }
+        // JSON callers get bytes encoded once per version, written as they are without going through Jackson
+        boolean jsonOnly = acceptsJsonOnly(request.getHeader(HttpHeaders.ACCEPT));
+        return employeeService.getEmployeeViewById(employeeId)
+                .<ResponseEntity<?>>map(employee -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(EmployeeETags.of(employee.version()));
+                    return jsonOnly
+                            ? response.contentType(MediaType.APPLICATION_JSON).body(employeeResponseCache.json(employee))
+                            : response.body(employee);
+                })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -47,10 +141,61 @@ public class EmployeeController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @PatchMapping("{id}")
+    public ResponseEntity<Void> patchEmployee(@PathVariable("id") long employeeId, @RequestBody EmployeePatch patch,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        Long expectedVersion = EmployeeETags.parseIfMatch(ifMatch);
+        employeeService.patchEmployee(employeeId, patch, expectedVersion);
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent();
+        if (expectedVersion != null) {
+            response.eTag(EmployeeETags.of(expectedVersion + 1));
+        }
+        return response.build();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<String> deleteEmployees(@RequestParam List<Long> ids){
+        int deleted = employeeService.deleteEmployees(ids);
+        return ResponseEntity.status(HttpStatus.OK).body(deleted + " employees deleted successfully");
+    }
+
     @DeleteMapping("{id}")
     public ResponseEntity<String> deleteEmployee(@PathVariable("id") long employeeId){
         employeeService.deleteEmployee(employeeId);
         return ResponseEntity.status(HttpStatus.OK).body("Employee deleted successfully");
     }
 
+    // any other listed type (Smile, CBOR, ...) goes through regular content negotiation, and so
+    // does an Accept header that does not parse, which negotiation answers with a client error
+    private static boolean acceptsJsonOnly(String accept) {
+        if (accept == null) {
+            return true;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .allMatch(type -> type.isCompatibleWith(MediaType.APPLICATION_JSON));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private void writeLine(OutputStream outputStream, EmployeeView employee) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(employee));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Prefer lists comma-separated preferences, each a name with an optional value and parameters,
+    // for example "return=minimal, respond-async, wait=5"; names are case-insensitive
+    private static boolean prefersRespondAsync(HttpHeaders headers) {
+        for (String preference : headers.getValuesAsList(PREFER_HEADER)) {
+            if (RESPOND_ASYNC.equalsIgnoreCase(preference.split("[=;]", 2)[0].trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,41 @@
+package com.juandlr.spring_boot_testing.controller;
+
+import com.juandlr.spring_boot_testing.dto.EmployeePage;
+import com.juandlr.spring_boot_testing.exception.PreconditionFailedException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+// ETag rules shared by the servlet controller and the reactive handler, so both stacks issue the same tags
+public final class EmployeeETags {
+
+    private EmployeeETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String of(EmployeePage page) {
+        StringBuilder state = new StringBuilder();
+        page.employees().forEach(employee -> state.append(employee.id()).append(':').append(employee.version()).append(','));
+        state.append(page.nextCursor());
+        return "\"" + DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // If-Match uses strong comparison, so only the quoted version tags issued by this API are accepted
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            try {
+                return Long.parseLong(etag.substring(1, etag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // fall through
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match any version issued by this API");
+    }
+}
@@ -0,0 +1,50 @@
+package com.juandlr.spring_boot_testing.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juandlr.spring_boot_testing.config.CacheConfig;
+import com.juandlr.spring_boot_testing.dto.EncodedEmployee;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+/**
+ * JSON bodies of GET /api/employees/{id}, encoded once per employee version. Entries are stored
+ * by id and only served while their version matches the view being returned, so bytes encoded
+ * from a view that was read just before an update are never served for the updated employee.
+ * The service evicts them together with the view cache.
+ * <p>
+ * Served over HTTP, skipping the message converter's Jackson path saves about a quarter of the
+ * memory allocated per request, see EmployeeResponseCacheBenchmark.
+ */
+@Component
+@Profile("!reactive")
+public class EmployeeResponseCache {
+
+    private final Cache cache;
+    private final ObjectMapper objectMapper;
+
+    public EmployeeResponseCache(CacheManager cacheManager, ObjectMapper objectMapper) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.EMPLOYEE_RESPONSES));
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] json(EmployeeView employee) {
+        EncodedEmployee cached = cache.get(employee.id(), EncodedEmployee.class);
+        if (cached != null && Objects.equals(cached.version(), employee.version())) {
+            return cached.json();
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(employee);
+            cache.put(employee.id(), new EncodedEmployee(employee.version(), json));
+            return json;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
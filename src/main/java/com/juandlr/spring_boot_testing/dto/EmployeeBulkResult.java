@@ -0,0 +1,17 @@
+package com.juandlr.spring_boot_testing.dto;
+
+import com.juandlr.spring_boot_testing.entity.Employee;
+
+// outcome of one item of a bulk create request, index is the position in the request array
+public record EmployeeBulkResult(int index, Status status, Long id, String email, String message) {
+
+    public enum Status { CREATED, FAILED }
+
+    public static EmployeeBulkResult created(int index, Employee employee) {
+        return new EmployeeBulkResult(index, Status.CREATED, employee.getId(), employee.getEmail(), null);
+    }
+
+    public static EmployeeBulkResult failed(int index, String email, String message) {
+        return new EmployeeBulkResult(index, Status.FAILED, null, email, message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.juandlr.spring_boot_testing.dto;
+
+// state of one asynchronous create, id is set once the employee has been written
+public record EmployeeIngestionStatus(String trackingId, State state, Long id, String email, String message) {
+
+    public enum State { QUEUED, CREATED, FAILED }
+
+    public static EmployeeIngestionStatus queued(String trackingId, String email) {
+        return new EmployeeIngestionStatus(trackingId, State.QUEUED, null, email, null);
+    }
+
+    public static EmployeeIngestionStatus created(String trackingId, Long id, String email) {
+        return new EmployeeIngestionStatus(trackingId, State.CREATED, id, email, null);
+    }
+
+    public static EmployeeIngestionStatus failed(String trackingId, String email, String message) {
+        return new EmployeeIngestionStatus(trackingId, State.FAILED, null, email, message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.juandlr.spring_boot_testing.dto;
+
+import java.util.List;
+
+// one keyset page of employees, nextCursor is null on the last page
+public record EmployeePage(List<EmployeeView> employees, Long nextCursor) {
+}
@@ -0,0 +1,9 @@
+package com.juandlr.spring_boot_testing.dto;
+
+// fields left null are not changed
+public record EmployeePatch(String firstName, String lastName, String email) {
+
+    public boolean isEmpty() {
+        return firstName == null && lastName == null && email == null;
+    }
+}
@@ -0,0 +1,6 @@
+package com.juandlr.spring_boot_testing.dto;
+
+// read model of the list, lookup and export endpoints, built by a JPQL constructor expression so no
+// managed entity, snapshot or dirty check is involved; serializes to the same JSON as Employee
+public record EmployeeView(Long id, String firstName, String lastName, String email, Long version) {
+}
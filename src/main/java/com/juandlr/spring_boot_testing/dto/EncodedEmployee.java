@@ -0,0 +1,12 @@
+package com.juandlr.spring_boot_testing.dto;
+
+// JSON bytes of one EmployeeView, tagged with the version they were encoded from
+public record EncodedEmployee(Long version, byte[] json) {
+
+    // key, entry and record headers on top of the array, so small entries are not counted as free
+    private static final int OVERHEAD_BYTES = 96;
+
+    public int weight() {
+        return json.length + OVERHEAD_BYTES;
+    }
+}
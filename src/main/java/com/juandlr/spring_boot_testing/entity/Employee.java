@@ -1,14 +1,23 @@
 package com.juandlr.spring_boot_testing.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.juandlr.spring_boot_testing.entity.generator.GeneratedEmployeeId;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "employees")
-@Setter @Getter @AllArgsConstructor @NoArgsConstructor @Builder
+@Table(name = "employees",
+        uniqueConstraints = @UniqueConstraint(name = Employee.EMAIL_CONSTRAINT, columnNames = "email"),
+        indexes = @Index(name = Employee.NAME_INDEX, columnList = "last_name, first_name"))
+@Setter @Getter @AllArgsConstructor @NoArgsConstructor @Builder(toBuilder = true)
 public class Employee {
+    public static final String EMAIL_CONSTRAINT = "uk_employees_email";
+    // backs the first/last-name query family in EmployeeRepository
+    public static final String NAME_INDEX = "idx_employees_last_name_first_name";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedEmployeeId
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -19,4 +28,12 @@ public class Employee {
 
     @Column(nullable = false)
     private String email;
+
+    // managed by Hibernate and exposed as the ETag; never taken from request bodies. The default
+    // fills the rows that exist when ddl-auto adds the column
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 }
@@ -0,0 +1,79 @@
+package com.juandlr.spring_boot_testing.entity.generator;
+
+import org.hibernate.boot.model.relational.Database;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Picks the id strategy of Employee from the Hibernate settings below, which the application
+ * fills from the employees.id.* properties. Both strategies assign the id before the insert.
+ */
+public class EmployeeIdGenerator implements IdentifierGenerator {
+
+    public static final String STRATEGY_SETTING = "employees.id.strategy";
+    public static final String NODE_SETTING = "employees.id.node";
+    public static final String INCREMENT_SIZE_SETTING = "employees.id.increment-size";
+    public static final String INITIAL_VALUE_SETTING = "employees.id.initial-value";
+
+    static final String SEQUENCE_NAME = "employees_seq";
+
+    private IdentifierGenerator sequenceGenerator;
+    private TsidGenerator tsidGenerator;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        ConfigurationService configuration = serviceRegistry.requireService(ConfigurationService.class);
+        String strategy = configuration.getSetting(STRATEGY_SETTING, StandardConverters.STRING, IdStrategy.SEQUENCE.name());
+
+        if (IdStrategy.valueOf(strategy.toUpperCase(Locale.ROOT)) == IdStrategy.SEQUENCE) {
+            Properties sequenceParameters = new Properties();
+            sequenceParameters.putAll(parameters);
+            sequenceParameters.put(SequenceStyleGenerator.SEQUENCE_PARAM, SEQUENCE_NAME);
+            sequenceParameters.put(OptimizableGenerator.OPT_PARAM, "pooled");
+            sequenceParameters.put(OptimizableGenerator.INCREMENT_PARAM,
+                    configuration.getSetting(INCREMENT_SIZE_SETTING, StandardConverters.STRING, "50"));
+            sequenceParameters.put(OptimizableGenerator.INITIAL_PARAM,
+                    configuration.getSetting(INITIAL_VALUE_SETTING, StandardConverters.STRING, "1"));
+            sequenceGenerator = new SequenceStyleGenerator();
+            sequenceGenerator.configure(type, sequenceParameters, serviceRegistry);
+        } else {
+            Integer node = configuration.getSetting(NODE_SETTING, StandardConverters.INTEGER);
+            if (node == null) {
+                throw new IllegalStateException(NODE_SETTING + " is required by the TSID strategy");
+            }
+            tsidGenerator = new TsidGenerator(node);
+        }
+    }
+
+    @Override
+    public void registerExportables(Database database) {
+        if (sequenceGenerator != null) {
+            sequenceGenerator.registerExportables(database);
+        }
+    }
+
+    @Override
+    public void initialize(SqlStringGenerationContext context) {
+        if (sequenceGenerator != null) {
+            sequenceGenerator.initialize(context);
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (sequenceGenerator != null) {
+            return sequenceGenerator.generate(session, object);
+        }
+        return tsidGenerator.nextId();
+    }
+}
@@ -0,0 +1,16 @@
+package com.juandlr.spring_boot_testing.entity.generator;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+// ids assigned before the insert by EmployeeIdGenerator, which keeps JDBC insert batching enabled
+@IdGeneratorType(EmployeeIdGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface GeneratedEmployeeId {
+}
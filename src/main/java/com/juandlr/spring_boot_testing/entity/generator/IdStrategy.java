@@ -0,0 +1,8 @@
+package com.juandlr.spring_boot_testing.entity.generator;
+
+public enum IdStrategy {
+    // time ordered 64-bit ids built in the JVM, no database round trip
+    TSID,
+    // pooled database sequence (table backed on MySQL), one round trip per increment-size ids
+    SEQUENCE
+}
@@ -0,0 +1,52 @@
+package com.juandlr.spring_boot_testing.entity.generator;
+
+import java.time.Instant;
+
+/**
+ * Snowflake style time sorted ids: 41 bits of milliseconds since 2024-01-01, 10 bits of node
+ * and a 12 bit counter, so every node can hand out 4096 ids per millisecond.
+ * Ids from different nodes never collide as long as every running instance has its own node.
+ * Ids are above 2^53, beyond the integers a JavaScript number holds exactly.
+ */
+public class TsidGenerator {
+
+    static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int COUNTER_BITS = 12;
+    static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+
+    private final long node;
+    private long lastMillis = -1;
+    private long counter;
+
+    public TsidGenerator(int node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("TSID node must be between 0 and " + MAX_NODE + " but was " + node);
+        }
+        this.node = node;
+    }
+
+    public synchronized long nextId() {
+        long millis = Math.max(currentMillis(), lastMillis);
+        if (millis == lastMillis) {
+            if (counter == MAX_COUNTER) {
+                // counter exhausted for this millisecond, wait for the clock to move on
+                while ((millis = currentMillis()) <= lastMillis) {
+                    Thread.onSpinWait();
+                }
+                counter = 0;
+            } else {
+                counter++;
+            }
+        } else {
+            counter = 0;
+        }
+        lastMillis = millis;
+        return ((millis - EPOCH) << (NODE_BITS + COUNTER_BITS)) | (node << COUNTER_BITS) | counter;
+    }
+
+    long currentMillis() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,8 @@
+package com.juandlr.spring_boot_testing.exception;
+
+public class ServiceUnavailableException extends RuntimeException{
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,58 @@
+package com.juandlr.spring_boot_testing.filter;
+
+import com.juandlr.spring_boot_testing.config.EmployeeProperties;
+import com.juandlr.spring_boot_testing.monitoring.RequestSqlTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// records statements and database time per request and reports requests that go over their statement budget
+@Slf4j
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_METRIC = "employees.request.statements";
+    public static final String DB_TIME_METRIC = "employees.request.db.time";
+    public static final String BUDGET_EXCEEDED_METRIC = "employees.request.statement.budget.exceeded";
+
+    private final EmployeeProperties.Sql sql;
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementBudgetFilter(EmployeeProperties.Sql sql, MeterRegistry meterRegistry) {
+        this.sql = sql;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestSqlTracker.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            report(request, RequestSqlTracker.stop());
+        }
+    }
+
+    private void report(HttpServletRequest request, RequestSqlTracker.Stats stats) {
+        String uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                ? pattern : "UNKNOWN";
+        String method = request.getMethod();
+        meterRegistry.summary(STATEMENTS_METRIC, "method", method, "uri", uri).record(stats.statements());
+        meterRegistry.timer(DB_TIME_METRIC, "method", method, "uri", uri).record(stats.elapsedMillis(), TimeUnit.MILLISECONDS);
+
+        int budget = sql.statementBudget(uri);
+        if (stats.statements() > budget) {
+            meterRegistry.counter(BUDGET_EXCEEDED_METRIC, "method", method, "uri", uri).increment();
+            log.warn("{} {} issued {} statements ({} ms in the database), budget is {}",
+                    method, uri, stats.statements(), stats.elapsedMillis(), budget);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.juandlr.spring_boot_testing.ingestion;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.juandlr.spring_boot_testing.config.EmployeeProperties;
+import com.juandlr.spring_boot_testing.config.MetricsConfig;
+import com.juandlr.spring_boot_testing.dto.EmployeeBulkResult;
+import com.juandlr.spring_boot_testing.dto.EmployeeIngestionStatus;
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.exception.TooManyRequestsException;
+import com.juandlr.spring_boot_testing.service.EmployeeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for "Prefer: respond-async" creates. Requests only enqueue; one writer
+ * thread drains the queue in batches through {@link EmployeeService#saveEmployees}, so each
+ * batch costs one duplicate check and one batched insert.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "employees.ingestion", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeIngestionQueue implements SmartLifecycle {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final EmployeeService employeeService;
+    private final BlockingQueue<Submission> queue;
+    private final Cache<String, EmployeeIngestionStatus> statuses;
+    private final int batchSize;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public EmployeeIngestionQueue(EmployeeService employeeService, EmployeeProperties employeeProperties,
+                                  MeterRegistry meterRegistry) {
+        EmployeeProperties.Ingestion ingestion = employeeProperties.getIngestion();
+        this.employeeService = employeeService;
+        this.queue = new ArrayBlockingQueue<>(ingestion.getQueueCapacity());
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(ingestion.getStatusTimeToLive())
+                .maximumSize(ingestion.getMaxTrackedStatuses())
+                .build();
+        this.batchSize = Math.min(ingestion.getBatchSize(), employeeProperties.getBulk().getMaxSize());
+        this.rejected = meterRegistry.counter(MetricsConfig.INGESTION_REJECTED_COUNTER);
+        meterRegistry.gauge(MetricsConfig.INGESTION_QUEUE_GAUGE, queue, BlockingQueue::size);
+    }
+
+    public EmployeeIngestionStatus submit(Employee employee) {
+        String trackingId = UUID.randomUUID().toString();
+        EmployeeIngestionStatus status = EmployeeIngestionStatus.queued(trackingId, employee.getEmail());
+        // tracked before it is offered, so the writer never completes an id that is not known yet
+        statuses.put(trackingId, status);
+        if (!queue.offer(new Submission(trackingId, employee))) {
+            statuses.invalidate(trackingId);
+            rejected.increment();
+            throw new TooManyRequestsException("The ingestion queue is full, retry later");
+        }
+        return status;
+    }
+
+    public Optional<EmployeeIngestionStatus> getStatus(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    // waits up to the timeout for a first create, then writes it with whatever else is queued, up to batchSize
+    int drain(long timeout, TimeUnit unit) throws InterruptedException {
+        Submission first = queue.poll(timeout, unit);
+        if (first == null) {
+            return 0;
+        }
+        List<Submission> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        write(batch);
+        return batch.size();
+    }
+
+    private void write(List<Submission> batch) {
+        try {
+            List<EmployeeBulkResult> results = employeeService.saveEmployees(
+                    batch.stream().map(submission -> copy(submission.employee())).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                EmployeeBulkResult result = results.get(i);
+                String trackingId = batch.get(i).trackingId();
+                statuses.put(trackingId, result.status() == EmployeeBulkResult.Status.CREATED
+                        ? EmployeeIngestionStatus.created(trackingId, result.id(), result.email())
+                        : EmployeeIngestionStatus.failed(trackingId, result.email(), result.message()));
+            }
+        } catch (RuntimeException e) {
+            // a row inserted concurrently with one of the emails rejects the whole batch,
+            // written one by one only the conflicting creates fail
+            log.debug("Ingestion batch of {} failed, retrying one by one", batch.size(), e);
+            batch.forEach(this::writeOne);
+        }
+    }
+
+    private void writeOne(Submission submission) {
+        String trackingId = submission.trackingId();
+        String email = submission.employee().getEmail();
+        try {
+            Employee saved = employeeService.saveEmployee(copy(submission.employee()));
+            statuses.put(trackingId, EmployeeIngestionStatus.created(trackingId, saved.getId(), email));
+        } catch (RuntimeException e) {
+            statuses.put(trackingId, EmployeeIngestionStatus.failed(trackingId, email, e.getMessage()));
+        }
+    }
+
+    // a failed batch may leave ids and versions on the entities it tried to persist
+    private static Employee copy(Employee employee) {
+        return Employee.builder()
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .build();
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                drain(POLL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Ingestion writer failed", e);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("employee-ingestion").daemon().start(this::run);
+    }
+
+    // the writer finishes what was accepted before the application shuts down
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            if (!writer.join(SHUTDOWN_TIMEOUT)) {
+                log.warn("Ingestion writer did not drain within {}, {} creates were dropped", SHUTDOWN_TIMEOUT, queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // started before and stopped after the web server, so no request is accepted without a writer
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private record Submission(String trackingId, Employee employee) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.juandlr.spring_boot_testing.monitoring;
+
+// statements and database time of the request running on the current thread; work handed to
+// another thread (the streaming export) is not attributed to the request
+public final class RequestSqlTracker {
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private RequestSqlTracker() {
+    }
+
+    public static void start() {
+        CURRENT.set(new Stats());
+    }
+
+    public static Stats stop() {
+        Stats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats == null ? new Stats() : stats;
+    }
+
+    public static void record(long elapsedMillis) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.elapsedMillis += elapsedMillis;
+        }
+    }
+
+    public static final class Stats {
+        private int statements;
+        private long elapsedMillis;
+
+        public int statements() {
+            return statements;
+        }
+
+        public long elapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.juandlr.spring_boot_testing.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// feeds RequestSqlTracker and logs slow statements; bind values never reach the log, only how many there were
+@Slf4j
+public class SqlMonitoringListener implements QueryExecutionListener {
+
+    private final long slowQueryThresholdMillis;
+
+    public SqlMonitoringListener(Duration slowQueryThreshold) {
+        this.slowQueryThresholdMillis = slowQueryThreshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestSqlTracker.record(execInfo.getElapsedTime());
+        if (execInfo.getElapsedTime() >= slowQueryThresholdMillis && log.isWarnEnabled()) {
+            log.warn("Slow query took {} ms (batch size {}): {}", execInfo.getElapsedTime(), execInfo.getBatchSize(),
+                    queryInfoList.stream().map(SqlMonitoringListener::masked).collect(Collectors.joining("; ")));
+        }
+    }
+
+    static String masked(QueryInfo queryInfo) {
+        int parameters = queryInfo.getParametersList().isEmpty() ? 0 : queryInfo.getParametersList().get(0).size();
+        return queryInfo.getQuery() + " [" + parameters + " parameters masked]";
+    }
+}
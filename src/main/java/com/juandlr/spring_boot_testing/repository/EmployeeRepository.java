@@ -1,17 +1,66 @@
 package com.juandlr.spring_boot_testing.repository;
 
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
 import com.juandlr.spring_boot_testing.entity.Employee;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
+    String VIEW_SELECT = "select new com.juandlr.spring_boot_testing.dto.EmployeeView(e.id, e.firstName, e.lastName, e.email, e.version) "
+            + "from Employee e";
+
     Optional<Employee> findByEmail(String email);
 
+    // read endpoints use projections, nothing is attached to the persistence context
+    @Query(VIEW_SELECT)
+    List<EmployeeView> findAllViews();
+
+    @Query(VIEW_SELECT + " where e.id = :id")
+    Optional<EmployeeView> findViewById(@Param("id") long id);
+
+    // keyset page: rows after the given id, walking the primary key index
+    @Query(VIEW_SELECT + " where e.id > :id order by e.id")
+    List<EmployeeView> findViewsByIdGreaterThan(@Param("id") long id, Limit limit);
+
+    // lets conditional GETs compare ETags without hydrating the row
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    // single UPDATE for PATCH: null fields keep their value and a null version skips the version check
+    @Transactional
+    @Modifying
+    @Query("update Employee e set e.firstName = coalesce(:firstName, e.firstName), e.lastName = coalesce(:lastName, e.lastName), "
+            + "e.email = coalesce(:email, e.email), e.version = e.version + 1 "
+            + "where e.id = :id and (:version is null or e.version = :version)")
+    int patchById(@Param("id") long id, @Param("firstName") String firstName, @Param("lastName") String lastName,
+                  @Param("email") String email, @Param("version") Long version);
+
+    // bulk JPQL deletes skip the load-then-remove that deleteById/deleteAllById perform
+    @Transactional
+    @Modifying
+    @Query("delete from Employee e where e.id = :id")
+    int deleteByIdDirectly(@Param("id") long id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Employee e where e.id in :ids")
+    int deleteAllByIdDirectly(@Param("ids") Collection<Long> ids);
+
+    // set based duplicate check used by bulk inserts
+    @Query("select e.email from Employee e where e.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     // define custom query using JPQL and index params
     @Query("select e from Employee e where e.firstName = ?1 and  e.lastName = ?2")
     Employee findByJPQL(String firstName, String lastName);
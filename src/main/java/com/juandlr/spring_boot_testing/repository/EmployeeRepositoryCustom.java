@@ -0,0 +1,11 @@
+package com.juandlr.spring_boot_testing.repository;
+
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
+
+import java.util.stream.Stream;
+
+public interface EmployeeRepositoryCustom {
+
+    // streams every employee in id order as projections, so the persistence context stays empty
+    Stream<EmployeeView> streamAll(int fetchSize);
+}
@@ -0,0 +1,21 @@
+package com.juandlr.spring_boot_testing.repository;
+
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<EmployeeView> streamAll(int fetchSize) {
+        return entityManager.createQuery(EmployeeRepository.VIEW_SELECT + " order by e.id", EmployeeView.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+}
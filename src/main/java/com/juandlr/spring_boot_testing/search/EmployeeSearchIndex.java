@@ -0,0 +1,417 @@
+package com.juandlr.spring_boot_testing.search;
+
+import com.juandlr.spring_boot_testing.config.EmployeeProperties;
+import com.juandlr.spring_boot_testing.dto.EmployeePatch;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.exception.ServiceUnavailableException;
+import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process type-ahead index over first name, last name and email. Queries of three or more
+ * characters are substring matches answered from the intersection of the postings of their
+ * trigrams. Shorter queries are prefix matches on any word of the three fields.
+ * <p>
+ * Built from the employees table at startup and kept current by the employee service after
+ * each write commits. Writes to the same employee may commit in one order and reach the index
+ * in another, so a document is only replaced by one of a newer version. A patch that does not
+ * follow the indexed version is applied with an unknown version, which any later write replaces,
+ * and the row is read back from the primary by a background thread, off the request that wrote
+ * it. Updated and removed
+ * documents leave stale postings behind until the index is compacted, which happens once they
+ * outnumber the live documents.
+ * <p>
+ * With employees.search.build-in-background the first build runs once the application is
+ * ready, and searches are refused until it completes. Writes committed meanwhile wait for the
+ * build to release its lock and are applied on top of it.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class EmployeeSearchIndex implements SmartInitializingSingleton, DisposableBean {
+
+    private static final int GRAM = 3;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeProperties employeeProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final boolean buildInBackground;
+    private volatile boolean built;
+
+    // one worker, so read-backs never compete with requests for more than one pooled connection
+    private final ExecutorService readBacks = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("employee-search-read-back").daemon().factory());
+    private final Set<Long> pendingReadBacks = ConcurrentHashMap.newKeySet();
+
+    // a document's ordinal is its position here, null once it was updated or removed
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository, EmployeeProperties employeeProperties,
+                               PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.employeeProperties = employeeProperties;
+        // deliberately not read-only: with a replica configured the index is built from the primary,
+        // a lagging replica would leave the latest writes out of it until they change again
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.buildInBackground = employeeProperties.getSearch().isBuildInBackground();
+        this.built = !buildInBackground;
+    }
+
+    // runs before the web server and the ingestion writer start, so no write can be missed
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!buildInBackground) {
+            rebuild();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (buildInBackground) {
+            Thread.ofPlatform().name("employee-search-index").daemon().start(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Employee search index could not be built, searches stay unavailable", e);
+                }
+            });
+        }
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            clear();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<EmployeeView> employees = employeeRepository.streamAll(employeeProperties.getExport().getFetchSize())) {
+                    employees.forEach(this::add);
+                }
+            });
+            built = true;
+            log.info("Employee search index built with {} employees in {} ms", ordinals.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    public List<EmployeeView> search(String query, int limit) {
+        if (!built) {
+            throw new ServiceUnavailableException("The search index is still being built, retry later");
+        }
+        String term = query.trim().toLowerCase(Locale.ROOT);
+        List<EmployeeView> matches = new ArrayList<>(Math.min(limit, 64));
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            if (term.length() < GRAM) {
+                // prefix postings hold exactly the matching documents, no need to look at them
+                Postings candidates = postings.get(term);
+                for (int i = 0; candidates != null && i < candidates.size && matches.size() < limit; i++) {
+                    Document document = documents.get(candidates.ordinals[i]);
+                    if (document != null) {
+                        matches.add(document.toView());
+                    }
+                }
+                return matches;
+            }
+            Postings[] trigrams = trigramPostings(term);
+            if (trigrams == null) {
+                return matches;
+            }
+            // walk the rarest list and gallop through the others, only documents holding every
+            // trigram of the query are looked at, and the substring check drops the rest
+            int[] cursors = new int[trigrams.length];
+            candidates:
+            for (int i = 0; i < trigrams[0].size && matches.size() < limit; i++) {
+                int ordinal = trigrams[0].ordinals[i];
+                for (int j = 1; j < trigrams.length; j++) {
+                    cursors[j] = trigrams[j].seek(ordinal, cursors[j]);
+                    if (cursors[j] == trigrams[j].size) {
+                        break candidates;
+                    }
+                    if (trigrams[j].ordinals[cursors[j]] != ordinal) {
+                        continue candidates;
+                    }
+                }
+                Document document = documents.get(ordinal);
+                if (document != null && document.contains(term)) {
+                    matches.add(document.toView());
+                }
+            }
+            return matches;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    public void put(EmployeeView employee) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            replace(employee);
+            compactIfNeeded();
+        } finally {
+            write.unlock();
+        }
+    }
+
+    public void putAll(Collection<Employee> employees) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            employees.forEach(employee -> replace(view(employee)));
+            compactIfNeeded();
+        } finally {
+            write.unlock();
+        }
+    }
+
+    // a patch carries the changed fields only; when the indexed document is not the version the patch
+    // was made on, the patched row is also read back. Patches of an id already waiting for its
+    // read-back are covered by that read
+    public void patch(long id, EmployeePatch patch, Long version) {
+        if (!applyPatch(id, patch, version) && pendingReadBacks.add(id)) {
+            readBacks.execute(() -> readBack(id));
+        }
+    }
+
+    public void removeAll(Collection<Long> ids) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            ids.forEach(this::remove);
+            compactIfNeeded();
+        } finally {
+            write.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        readBacks.shutdownNow();
+    }
+
+    public int size() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return ordinals.size();
+        } finally {
+            read.unlock();
+        }
+    }
+
+    public static EmployeeView view(Employee employee) {
+        return new EmployeeView(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                employee.getVersion());
+    }
+
+    // postings of each distinct trigram of the term, rarest first, or null when one has no documents
+    private Postings[] trigramPostings(String term) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            grams.add(term.substring(i, i + GRAM));
+        }
+        Postings[] trigrams = new Postings[grams.size()];
+        int next = 0;
+        for (String gram : grams) {
+            Postings candidates = postings.get(gram);
+            if (candidates == null) {
+                return null;
+            }
+            trigrams[next++] = candidates;
+        }
+        Arrays.sort(trigrams, Comparator.comparingInt(candidates -> candidates.size));
+        return trigrams;
+    }
+
+    // false when the version the patch produced is unknown or does not follow the indexed one; the
+    // fields are still applied then, under an unknown version, so searches see them before the read-back
+    private boolean applyPatch(long id, EmployeePatch patch, Long version) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                return false;
+            }
+            EmployeeView current = documents.get(ordinal).toView();
+            boolean known = version != null && current.version() != null;
+            if (known && current.version() + 1 > version) {
+                return true;
+            }
+            boolean follows = known && current.version() + 1 == version;
+            remove(id);
+            add(new EmployeeView(id,
+                    patch.firstName() == null ? current.firstName() : patch.firstName(),
+                    patch.lastName() == null ? current.lastName() : patch.lastName(),
+                    patch.email() == null ? current.email() : patch.email(),
+                    follows ? version : null));
+            compactIfNeeded();
+            return follows;
+        } finally {
+            write.unlock();
+        }
+    }
+
+    // the id leaves the pending set before the read, so a patch committed during the read schedules another
+    private void readBack(long id) {
+        pendingReadBacks.remove(id);
+        try {
+            transactionTemplate.execute(status -> employeeRepository.findViewById(id)).ifPresent(this::put);
+        } catch (RuntimeException e) {
+            log.warn("Employee {} could not be read back, the search index keeps its previous values until its next write", id, e);
+        }
+    }
+
+    // an older version arriving after a newer one was indexed is dropped
+    private void replace(EmployeeView employee) {
+        Integer ordinal = employee.id() == null ? null : ordinals.get(employee.id());
+        Long indexed = ordinal == null ? null : documents.get(ordinal).version();
+        if (indexed != null && employee.version() != null && indexed >= employee.version()) {
+            return;
+        }
+        remove(employee.id());
+        add(employee);
+    }
+
+    private void add(EmployeeView employee) {
+        Document document = Document.of(employee);
+        int ordinal = documents.size();
+        documents.add(document);
+        ordinals.put(employee.id(), ordinal);
+        for (String gram : grams(document)) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(ordinal);
+        }
+    }
+
+    private void remove(Long id) {
+        Integer ordinal = id == null ? null : ordinals.remove(id);
+        if (ordinal != null) {
+            documents.set(ordinal, null);
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (documents.size() - ordinals.size() > Math.max(ordinals.size(), 1_024)) {
+            List<Document> live = documents.stream().filter(Objects::nonNull).toList();
+            clear();
+            live.forEach(document -> add(document.toView()));
+        }
+    }
+
+    private void clear() {
+        documents.clear();
+        ordinals.clear();
+        postings.clear();
+    }
+
+    // every trigram of each field, plus the one and two character prefixes of each word
+    private static Set<String> grams(Document document) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String field : new String[]{document.firstName, document.lastName, document.email}) {
+            if (field == null) {
+                continue;
+            }
+            for (int i = 0; i + GRAM <= field.length(); i++) {
+                grams.add(field.substring(i, i + GRAM));
+            }
+            boolean wordStart = true;
+            for (int i = 0; i < field.length(); i++) {
+                boolean letterOrDigit = Character.isLetterOrDigit(field.charAt(i));
+                if (wordStart && letterOrDigit) {
+                    grams.add(field.substring(i, i + 1));
+                    if (i + 1 < field.length()) {
+                        grams.add(field.substring(i, i + 2));
+                    }
+                }
+                wordStart = !letterOrDigit;
+            }
+        }
+        return grams;
+    }
+
+    // the original values are kept for the response; toLowerCase returns the same instance when
+    // there is nothing to change, so already lower-case values are not stored twice
+    private record Document(long id, String firstName, String lastName, String email, Long version,
+                            String originalFirstName, String originalLastName, String originalEmail) {
+
+        static Document of(EmployeeView employee) {
+            return new Document(employee.id(), lower(employee.firstName()), lower(employee.lastName()),
+                    lower(employee.email()), employee.version(),
+                    employee.firstName(), employee.lastName(), employee.email());
+        }
+
+        boolean contains(String term) {
+            return (firstName != null && firstName.contains(term))
+                    || (lastName != null && lastName.contains(term))
+                    || (email != null && email.contains(term));
+        }
+
+        EmployeeView toView() {
+            return new EmployeeView(id, originalFirstName, originalLastName, originalEmail, version);
+        }
+
+        private static String lower(String value) {
+            return value == null ? null : value.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    // ordinals in ascending order, documents are only ever appended
+    private static final class Postings {
+
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size + (size >> 1));
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        // index of the first ordinal at or after the target, searching from a previous position
+        int seek(int target, int from) {
+            int bound = 1;
+            while (from + bound < size && ordinals[from + bound] < target) {
+                bound <<= 1;
+            }
+            int index = Arrays.binarySearch(ordinals, from, Math.min(from + bound + 1, size), target);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
@@ -1,14 +1,28 @@
 package com.juandlr.spring_boot_testing.service;
 
+import com.juandlr.spring_boot_testing.dto.EmployeeBulkResult;
+import com.juandlr.spring_boot_testing.dto.EmployeePage;
+import com.juandlr.spring_boot_testing.dto.EmployeePatch;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
 import com.juandlr.spring_boot_testing.entity.Employee;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
-    List<Employee> getAllEmployees();
+    List<EmployeeBulkResult> saveEmployees(List<Employee> employees);
+    List<EmployeeView> getAllEmployees();
+    EmployeePage getEmployeePage(Long after, Integer limit);
+    void exportEmployees(Consumer<EmployeeView> consumer);
+    List<EmployeeView> searchEmployees(String query, Integer limit);
     Optional<Employee> getEmployeeById(long id);
+    Optional<EmployeeView> getEmployeeViewById(long id);
+    Optional<Long> getEmployeeVersion(long id);
     Employee updateEmployee(Employee updatedEmployee);
+    void patchEmployee(long id, EmployeePatch patch, Long expectedVersion);
     void deleteEmployee(long id);
+    int deleteEmployees(Collection<Long> ids);
 }
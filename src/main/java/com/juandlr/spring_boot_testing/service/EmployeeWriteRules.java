@@ -0,0 +1,111 @@
+package com.juandlr.spring_boot_testing.service;
+
+import com.juandlr.spring_boot_testing.dto.EmployeeBulkResult;
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.exception.InvalidRequestException;
+import com.juandlr.spring_boot_testing.exception.ResourceAlreadyExistsException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Write validation and error translation shared by the servlet and the reactive employee
+ * services, so both stacks accept and reject the same requests with the same messages.
+ */
+public final class EmployeeWriteRules {
+
+    private EmployeeWriteRules() {
+    }
+
+    public static InvalidRequestException tooManyEmployees(int maxSize) {
+        return new InvalidRequestException("A bulk request accepts at most " + maxSize + " employees");
+    }
+
+    // the emails of a bulk request, looked up in one query before any item is checked
+    public static List<String> emails(List<Employee> employees) {
+        return employees.stream()
+                .filter(Objects::nonNull)
+                .map(Employee::getEmail)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // MySQL compares emails case-insensitively and returns them as stored, duplicates are found on
+    // the lower-cased form so that neither a stored nor a repeated email differing in case gets through
+    public static BulkCheck checkBulk(List<Employee> employees, Collection<String> existingEmails) {
+        Set<String> existing = existingEmails.stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        BulkCheck check = new BulkCheck(employees.size());
+        Set<String> requestEmails = new HashSet<>();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (employee == null || employee.getFirstName() == null || employee.getLastName() == null || employee.getEmail() == null) {
+                check.results[i] = EmployeeBulkResult.failed(i, employee == null ? null : employee.getEmail(), "firstName, lastName and email are required");
+            } else if (existing.contains(employee.getEmail().toLowerCase(Locale.ROOT))) {
+                check.results[i] = EmployeeBulkResult.failed(i, employee.getEmail(), "Employee already exist with given email " + employee.getEmail());
+                check.duplicates++;
+            } else if (!requestEmails.add(employee.getEmail().toLowerCase(Locale.ROOT))) {
+                check.results[i] = EmployeeBulkResult.failed(i, employee.getEmail(), "Email repeated in the same request " + employee.getEmail());
+                check.duplicates++;
+            } else {
+                check.acceptedIndexes.add(i);
+                check.accepted.add(employee);
+            }
+        }
+        return check;
+    }
+
+    // JPA reports the violated constraint by name, R2DBC only through the driver's message
+    public static RuntimeException duplicateEmailOrRethrow(DataIntegrityViolationException exception, String email) {
+        String detail = exception.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : exception.getMostSpecificCause().getMessage();
+        if (detail != null && detail.toLowerCase(Locale.ROOT).contains(Employee.EMAIL_CONSTRAINT)) {
+            String message = email == null ? "Employee already exist with one of the given emails"
+                    : "Employee already exist with given email " + email;
+            return new ResourceAlreadyExistsException(message, exception);
+        }
+        return exception;
+    }
+
+    // outcome of checking a bulk request; the accepted employees are filled in as they are created
+    public static final class BulkCheck {
+
+        private final EmployeeBulkResult[] results;
+        private final List<Integer> acceptedIndexes = new ArrayList<>();
+        private final List<Employee> accepted = new ArrayList<>();
+        private int duplicates;
+
+        private BulkCheck(int size) {
+            this.results = new EmployeeBulkResult[size];
+        }
+
+        public List<Employee> accepted() {
+            return accepted;
+        }
+
+        // items rejected because their email is stored already or repeated in the request
+        public int duplicates() {
+            return duplicates;
+        }
+
+        // position is the employee's place in accepted(), not in the request
+        public void created(int position, Long id, String email) {
+            int index = acceptedIndexes.get(position);
+            results[index] = new EmployeeBulkResult(index, EmployeeBulkResult.Status.CREATED, id, email, null);
+        }
+
+        public List<EmployeeBulkResult> results() {
+            return List.of(results);
+        }
+    }
+}
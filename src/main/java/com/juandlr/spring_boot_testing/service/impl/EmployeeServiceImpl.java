@@ -1,50 +1,300 @@
 package com.juandlr.spring_boot_testing.service.impl;
 
+import com.juandlr.spring_boot_testing.coalescing.SingleFlight;
+import com.juandlr.spring_boot_testing.config.CacheConfig;
+import com.juandlr.spring_boot_testing.config.EmployeeProperties;
+import com.juandlr.spring_boot_testing.config.MetricsConfig;
+import com.juandlr.spring_boot_testing.datasource.ReadWriteRoutingDataSource;
+import com.juandlr.spring_boot_testing.dto.EmployeeBulkResult;
+import com.juandlr.spring_boot_testing.dto.EmployeePage;
+import com.juandlr.spring_boot_testing.dto.EmployeePatch;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
 import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.exception.InvalidRequestException;
+import com.juandlr.spring_boot_testing.exception.PreconditionFailedException;
+import com.juandlr.spring_boot_testing.exception.ResourceAlreadyExistsException;
 import com.juandlr.spring_boot_testing.exception.ResourceNotFoundException;
 import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
+import com.juandlr.spring_boot_testing.search.EmployeeSearchIndex;
 import com.juandlr.spring_boot_testing.service.EmployeeService;
+import com.juandlr.spring_boot_testing.service.EmployeeWriteRules;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class EmployeeServiceImpl implements EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final EmployeeProperties employeeProperties;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final EmployeeSearchIndex searchIndex;
+    private final SingleFlight singleFlight;
+    private final PlatformTransactionManager transactionManager;
 
     @Override
     public Employee saveEmployee(Employee employee) {
 
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if (savedEmployee.isPresent()){
-            throw new ResourceNotFoundException("Employee already exist with given email " + employee.getEmail());
+        // the unique index on email is the duplicate check, so a create is a single insert
+        try {
+            Employee saved = employeeRepository.saveAndFlush(employee);
+            afterCommit(() -> searchIndex.put(EmployeeSearchIndex.view(saved)));
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            RuntimeException exception = EmployeeWriteRules.duplicateEmailOrRethrow(e, employee.getEmail());
+            if (exception instanceof ResourceAlreadyExistsException) {
+                duplicateEmailRejected("create", 1);
+            }
+            throw exception;
         }
-        return employeeRepository.save(employee);
     }
 
     @Override
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    @Transactional
+    public List<EmployeeBulkResult> saveEmployees(List<Employee> employees) {
+        int maxSize = employeeProperties.getBulk().getMaxSize();
+        if (employees.size() > maxSize) {
+            throw EmployeeWriteRules.tooManyEmployees(maxSize);
+        }
+
+        List<String> emails = EmployeeWriteRules.emails(employees);
+        EmployeeWriteRules.BulkCheck check = EmployeeWriteRules.checkBulk(employees,
+                emails.isEmpty() ? Set.of() : employeeRepository.findExistingEmails(emails));
+        if (check.duplicates() > 0) {
+            duplicateEmailRejected("bulk", check.duplicates());
+        }
+
+        // inserts are grouped into JDBC batches by hibernate.jdbc.batch_size, a row inserted
+        // concurrently with one of the accepted emails rejects the whole batch
+        List<Employee> saved;
+        try {
+            saved = employeeRepository.saveAllAndFlush(check.accepted());
+        } catch (DataIntegrityViolationException e) {
+            throw EmployeeWriteRules.duplicateEmailOrRethrow(e, null);
+        }
+        afterCommit(() -> searchIndex.putAll(saved));
+        for (int i = 0; i < saved.size(); i++) {
+            check.created(i, saved.get(i).getId(), saved.get(i).getEmail());
+        }
+        return check.results();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeView> getAllEmployees() {
+        return employeeRepository.findAllViews();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePage getEmployeePage(Long after, Integer limit) {
+        int pageSize = employeeProperties.getPage().resolveSize(limit);
+        long cursor = after == null ? Long.MIN_VALUE : after;
+
+        // fetch one extra row to know whether there is a next page without a count query
+        List<EmployeeView> employees = employeeRepository.findViewsByIdGreaterThan(cursor, Limit.of(pageSize + 1));
+        if (employees.size() > pageSize) {
+            List<EmployeeView> page = List.copyOf(employees.subList(0, pageSize));
+            return new EmployeePage(page, page.get(pageSize - 1).id());
+        }
+        return new EmployeePage(employees, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<EmployeeView> consumer) {
+        try (Stream<EmployeeView> employees = employeeRepository.streamAll(employeeProperties.getExport().getFetchSize())) {
+            employees.forEach(consumer);
+        }
+    }
+
+    @Override
+    public List<EmployeeView> searchEmployees(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Parameter 'q' must not be blank");
+        }
+        return searchIndex.search(query, employeeProperties.getSearch().resolveLimit(limit));
+    }
+
+    // the shared entity may be attached to the leader's persistence context, every caller gets its own copy.
+    // The entity is read to be updated, so it comes from the primary: a lagging replica would miss a
+    // just-created row or hand back a version the update then fails to merge
     @Override
     public Optional<Employee> getEmployeeById(long id) {
-        return employeeRepository.findById(id);
+        return coalesced(new LoadKey(Employee.class, id), false, () -> employeeRepository.findById(id))
+                .map(employee -> employee.toBuilder().build());
+    }
+
+    // only the immutable view is cached, a cached entity could be modified by its caller;
+    // cache misses for the same id share one query. The query fills the cache for every client for
+    // the whole time-to-live, so it reads the primary: a lagging replica would re-cache a row
+    // right after a write evicted it
+    @Override
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES, key = "#id", unless = "#result == null")
+    public Optional<EmployeeView> getEmployeeViewById(long id) {
+        return coalesced(new LoadKey(EmployeeView.class, id), false, () -> employeeRepository.findViewById(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getEmployeeVersion(long id) {
+        return employeeRepository.findVersionById(id);
     }
 
     @Override
     public Employee updateEmployee(Employee updatedEmployee) {
-        return employeeRepository.save(updatedEmployee);
+        try {
+            Employee saved = employeeRepository.save(updatedEmployee);
+            afterCommit(() -> searchIndex.put(EmployeeSearchIndex.view(saved)));
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            RuntimeException exception = EmployeeWriteRules.duplicateEmailOrRethrow(e, updatedEmployee.getEmail());
+            if (exception instanceof ResourceAlreadyExistsException) {
+                duplicateEmailRejected("update", 1);
+            }
+            throw exception;
+        } finally {
+            evictEmployee(updatedEmployee.getId());
+        }
+    }
+
+    @Override
+    public void patchEmployee(long id, EmployeePatch patch, Long expectedVersion) {
+        if (patch.isEmpty()) {
+            throw new InvalidRequestException("At least one of firstName, lastName or email is required");
+        }
+        int updated;
+        try {
+            updated = employeeRepository.patchById(id, patch.firstName(), patch.lastName(), patch.email(), expectedVersion);
+        } catch (DataIntegrityViolationException exception) {
+            throw EmployeeWriteRules.duplicateEmailOrRethrow(exception, patch.email());
+        } finally {
+            evictEmployee(id);
+        }
+        if (updated == 0) {
+            // only the failure path pays for the extra lookup that tells a missing row from a stale version
+            if (expectedVersion != null && employeeRepository.existsById(id)) {
+                throw new PreconditionFailedException("Employee " + id + " is no longer at version " + expectedVersion);
+            }
+            throw new ResourceNotFoundException("Employee not found with given id " + id);
+        }
+        // a conditional patch knows the version it produced, the index reads back any other
+        Long version = expectedVersion == null ? null : expectedVersion + 1;
+        afterCommit(() -> searchIndex.patch(id, patch, version));
     }
 
     @Override
     public void deleteEmployee(long id) {
-        employeeRepository.deleteById(id);
+        int deleted;
+        try {
+            deleted = employeeRepository.deleteByIdDirectly(id);
+        } finally {
+            evictEmployee(id);
+        }
+        if (deleted == 0) {
+            throw new ResourceNotFoundException("Employee not found with given id " + id);
+        }
+        afterCommit(() -> searchIndex.removeAll(Set.of(id)));
     }
 
+    @Override
+    public int deleteEmployees(Collection<Long> ids) {
+        Set<Long> distinctIds = new HashSet<>(ids);
+        if (distinctIds.isEmpty()) {
+            throw new InvalidRequestException("At least one id is required");
+        }
+        int maxSize = employeeProperties.getBulk().getMaxSize();
+        if (distinctIds.size() > maxSize) {
+            throw EmployeeWriteRules.tooManyEmployees(maxSize);
+        }
+        try {
+            int deleted = employeeRepository.deleteAllByIdDirectly(distinctIds);
+            afterCommit(() -> searchIndex.removeAll(distinctIds));
+            return deleted;
+        } finally {
+            evictEmployees(distinctIds);
+        }
+    }
 
+    // runs after the repository call has committed
+    private void evictEmployee(Long id) {
+        if (id != null) {
+            evictEmployees(Set.of(id));
+        }
+    }
+
+    private void evictEmployees(Set<Long> ids) {
+        // a read of these ids still in flight may have seen the old row, it reads again before
+        // answering its callers and filling the cache; a read that already answered can still put
+        // the old row back after this eviction, the same race any read-through cache has
+        for (Long id : ids) {
+            singleFlight.invalidate(new LoadKey(Employee.class, id));
+            singleFlight.invalidate(new LoadKey(EmployeeView.class, id));
+        }
+        for (String name : new String[]{CacheConfig.EMPLOYEES, CacheConfig.EMPLOYEE_RESPONSES}) {
+            Cache byId = cacheManager.getCache(name);
+            if (byId != null) {
+                ids.forEach(byId::evict);
+            }
+        }
+    }
+
+    // callers wait before opening a transaction, so they do not hold pooled connections while the
+    // leader queries; a caller inside a transaction or after a write in its request reads for itself
+    private <T> T coalesced(LoadKey key, boolean readOnly, Supplier<T> query) {
+        // a read-only transaction goes to the replica when one is configured, any other to the primary
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        Supplier<T> load = () -> transaction.execute(status -> query.get());
+        if (TransactionSynchronizationManager.isActualTransactionActive() || ReadWriteRoutingDataSource.currentRequestWrote()) {
+            return load.get();
+        }
+        return singleFlight.execute(key, load);
+    }
+
+    // the search index must not show a write that is still rolled back by a surrounding transaction
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void duplicateEmailRejected(String operation, int count) {
+        meterRegistry.counter(MetricsConfig.DUPLICATE_EMAIL_COUNTER, "operation", operation).increment(count);
+    }
+
+    private record LoadKey(Class<?> type, long id) {
+    }
 }
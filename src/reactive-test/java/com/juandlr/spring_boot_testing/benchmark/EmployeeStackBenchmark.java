@@ -0,0 +1,134 @@
+package com.juandlr.spring_boot_testing.benchmark;
+
+import com.juandlr.spring_boot_testing.entity.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// run with: mvn test -Pbenchmark,reactive -Dtest=EmployeeStackBenchmark
+@Tag("benchmark")
+public class EmployeeStackBenchmark {
+
+    private static final int EMPLOYEES = 1_000;
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 50;
+    private static final int WARM_UP_REQUESTS_PER_CLIENT = 10;
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    @DisplayName("Servlet/JPA against WebFlux/R2DBC under concurrent load on H2")
+    @Test
+    public void givenConcurrentClients_whenServedByServletOrReactiveStack_thenReportThroughputAndP99() throws Exception {
+
+        //given - precondition or setup, the same requests against both stacks, each on its own H2 database
+        //when - action or the behaviour that we are going test
+        Result servlet = run("servlet", "employees.concurrency.acquire-timeout=30s");
+        Result reactive = run("reactive", "spring.profiles.active=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///stack-reactive;DB_CLOSE_DELAY=-1",
+                "spring.r2dbc.username=sa", "spring.r2dbc.password=");
+
+        //then - verify the output
+        System.out.printf("%d clients x %d requests, alternating GET page and GET by id%n", CLIENTS, REQUESTS_PER_CLIENT);
+        for (Result result : List.of(servlet, reactive)) {
+            System.out.printf("%-10s %8.0f req/s  p50 %6.1f ms  p99 %6.1f ms  non-2xx %d%n", result.name(),
+                    result.throughput(), result.percentileMillis(0.50), result.percentileMillis(0.99), result.failures());
+        }
+        assertThat(servlet.failures()).isZero();
+        assertThat(reactive.failures()).isZero();
+    }
+
+    private Result run(String name, String... properties) throws Exception {
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start("stack-" + name, properties);
+             HttpClient httpClient = HttpClient.newHttpClient()) {
+            String baseUrl = BenchmarkApplication.baseUrl(context);
+            List<Long> ids = seed(httpClient, baseUrl);
+
+            load(name, baseUrl, ids, WARM_UP_REQUESTS_PER_CLIENT);
+            return load(name, baseUrl, ids, REQUESTS_PER_CLIENT);
+        }
+    }
+
+    // seeded through the API so both stacks go through their own write path
+    private List<Long> seed(HttpClient httpClient, String baseUrl) throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (Employee employee : BenchmarkApplication.employees("employee", EMPLOYEES)) {
+            body.append(body.length() > 1 ? "," : "")
+                    .append("{\"firstName\":\"").append(employee.getFirstName())
+                    .append("\",\"lastName\":\"").append(employee.getLastName())
+                    .append("\",\"email\":\"").append(employee.getEmail()).append("\"}");
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/employees/bulk"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.append(']').toString()))
+                .build();
+        String response = httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        List<Long> ids = new ArrayList<>(EMPLOYEES);
+        Matcher matcher = ID.matcher(response);
+        while (matcher.find()) {
+            ids.add(Long.valueOf(matcher.group(1)));
+        }
+        assertThat(ids).hasSize(EMPLOYEES);
+        return ids;
+    }
+
+    // every client is a virtual thread alternating a page request and a lookup by id
+    private Result load(String name, String baseUrl, List<Long> ids, int requestsPerClient) throws Exception {
+        long[] latencies = new long[CLIENTS * requestsPerClient];
+        int[] failures = new int[CLIENTS];
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(clients).build()) {
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            long start = System.nanoTime();
+            for (int client = 0; client < CLIENTS; client++) {
+                int clientIndex = client;
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        long id = ids.get((clientIndex * requestsPerClient + i) % ids.size());
+                        String path = i % 2 == 0 ? "/api/employees?limit=20&after=" + id : "/api/employees/" + id;
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).build();
+                        long sent = System.nanoTime();
+                        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        latencies[clientIndex * requestsPerClient + i] = System.nanoTime() - sent;
+                        if (response.statusCode() / 100 != 2) {
+                            failures[clientIndex]++;
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            Arrays.sort(latencies);
+            return new Result(name, latencies, elapsed, Arrays.stream(failures).sum());
+        }
+    }
+
+    private record Result(String name, long[] sortedLatencies, long elapsedNanos, int failures) {
+
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        double percentileMillis(double percentile) {
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.juandlr.spring_boot_testing.integration;
+
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
+import com.juandlr.spring_boot_testing.reactive.ReactiveEmployeeRepository;
+import com.juandlr.spring_boot_testing.reactive.ReactiveEmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-contract;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="
+})
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+public class ReactiveEmployeeApiContractTest extends EmployeeApiContractTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveEmployeeRepository employeeRepository;
+
+    @Autowired
+    private ReactiveEmployeeService employeeService;
+
+    @Override
+    protected WebTestClient webTestClient() {
+        return webTestClient;
+    }
+
+    @Override
+    protected void deleteAllEmployees() {
+        employeeRepository.deleteAll().block();
+    }
+
+    // JUnit test for get all employees as NDJSON
+    @DisplayName("JUnit test for get all employees as NDJSON")
+    @Test
+    public void givenNdjsonAccept_whenGetAllEmployees_thenStreamEveryEmployee(){
+
+        //given - precondition or setup
+        create("juan@example.com");
+        create("rodrigo@example.com");
+        create("marco@example.com");
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeView> employees = webTestClient.get().uri("/api/employees?limit=1")
+                .accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .returnResult(EmployeeView.class).getResponseBody().collectList().block();
+
+        //then - verify the output
+        assertThat(employees).hasSize(3);
+    }
+
+    // JUnit test for streamEmployees backpressure
+    @DisplayName("JUnit test for streamEmployees backpressure")
+    @Test
+    public void givenEmployees_whenSubscriberRequestsOneAtATime_thenRowsAreEmittedOnDemand(){
+
+        //given - precondition or setup
+        EmployeeView first = create("juan@example.com");
+        EmployeeView second = create("rodrigo@example.com");
+
+        //when - action or the behaviour that we are going test
+        //then - verify the output
+        StepVerifier.create(employeeService.streamEmployees(), 1)
+                .expectNext(first)
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(1)
+                .expectNext(second)
+                .thenRequest(1)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,15 @@
+package com.juandlr.spring_boot_testing.reactive;
+
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+// R2DBC mapping of the employees table; a null version marks a row that still has to be inserted
+@Table("employees")
+public record ReactiveEmployee(@Id Long id, String firstName, String lastName, String email, @Version Long version) {
+
+    public EmployeeView toView() {
+        return new EmployeeView(id, firstName, lastName, email, version);
+    }
+}
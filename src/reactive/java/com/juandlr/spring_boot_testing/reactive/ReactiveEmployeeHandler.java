@@ -0,0 +1,140 @@
+package com.juandlr.spring_boot_testing.reactive;
+
+import com.juandlr.spring_boot_testing.controller.EmployeeController;
+import com.juandlr.spring_boot_testing.controller.EmployeeETags;
+import com.juandlr.spring_boot_testing.dto.EmployeePatch;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.exception.InvalidRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+// WebFlux functional handlers answering the same /api/employees contract as EmployeeController
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveEmployeeHandler {
+
+    private static final ParameterizedTypeReference<List<Employee>> EMPLOYEE_LIST = new ParameterizedTypeReference<>() {
+    };
+
+    private final ReactiveEmployeeService employeeService;
+
+    public Mono<ServerResponse> createEmployee(ServerRequest request) {
+        return body(request, Employee.class)
+                .flatMap(employeeService::saveEmployee)
+                .flatMap(employee -> ServerResponse.status(HttpStatus.CREATED).bodyValue(employee));
+    }
+
+    public Mono<ServerResponse> createEmployees(ServerRequest request) {
+        return body(request, EMPLOYEE_LIST)
+                .flatMap(employeeService::saveEmployees)
+                .flatMap(results -> ServerResponse.ok().bodyValue(results));
+    }
+
+    public Mono<ServerResponse> getAllEmployees(ServerRequest request) {
+        Long after = request.queryParam("after").map(Long::valueOf).orElse(null);
+        Integer limit = request.queryParam("limit").map(Integer::valueOf).orElse(null);
+        return employeeService.getEmployeePage(after, limit)
+                .flatMap(page -> {
+                    String etag = EmployeeETags.of(page);
+                    return request.checkNotModified(etag)
+                            .switchIfEmpty(Mono.defer(() -> {
+                                ServerResponse.BodyBuilder response = ServerResponse.ok().eTag(etag);
+                                if (page.nextCursor() != null) {
+                                    response.header(EmployeeController.NEXT_CURSOR_HEADER, page.nextCursor().toString());
+                                }
+                                return response.bodyValue(page.employees());
+                            }));
+                });
+    }
+
+    // one JSON document per line, written as rows arrive and only as fast as the client reads them
+    public Mono<ServerResponse> streamEmployees(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(employeeService.streamEmployees(), EmployeeView.class);
+    }
+
+    public Mono<ServerResponse> getEmployeeById(ServerRequest request) {
+        long employeeId = employeeId(request);
+        // conditional requests are checked against the version column only, without loading the employee
+        if (request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            return employeeService.getEmployeeVersion(employeeId)
+                    .flatMap(version -> request.checkNotModified(EmployeeETags.of(version))
+                            .switchIfEmpty(Mono.defer(() -> employeeResponse(employeeId))))
+                    .switchIfEmpty(Mono.defer(() -> ServerResponse.notFound().build()));
+        }
+        return employeeResponse(employeeId);
+    }
+
+    public Mono<ServerResponse> updateEmployee(ServerRequest request) {
+        long employeeId = employeeId(request);
+        return body(request, Employee.class)
+                .flatMap(employee -> employeeService.updateEmployee(employeeId, employee))
+                .flatMap(employee -> ServerResponse.ok().bodyValue(employee))
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.notFound().build()));
+    }
+
+    public Mono<ServerResponse> patchEmployee(ServerRequest request) {
+        long employeeId = employeeId(request);
+        Long expectedVersion = EmployeeETags.parseIfMatch(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+        return body(request, EmployeePatch.class)
+                .flatMap(patch -> employeeService.patchEmployee(employeeId, patch, expectedVersion))
+                .then(Mono.defer(() -> {
+                    ServerResponse.HeadersBuilder<?> response = ServerResponse.noContent();
+                    if (expectedVersion != null) {
+                        response.eTag(EmployeeETags.of(expectedVersion + 1));
+                    }
+                    return response.build();
+                }));
+    }
+
+    public Mono<ServerResponse> deleteEmployees(ServerRequest request) {
+        List<Long> ids = request.queryParams().getOrDefault("ids", List.of()).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .map(Long::valueOf)
+                .toList();
+        if (ids.isEmpty()) {
+            throw new InvalidRequestException("Required parameter 'ids' is not present");
+        }
+        return employeeService.deleteEmployees(ids)
+                .flatMap(deleted -> ServerResponse.ok().bodyValue(deleted + " employees deleted successfully"));
+    }
+
+    public Mono<ServerResponse> deleteEmployee(ServerRequest request) {
+        return employeeService.deleteEmployee(employeeId(request))
+                .then(Mono.defer(() -> ServerResponse.ok().bodyValue("Employee deleted successfully")));
+    }
+
+    private Mono<ServerResponse> employeeResponse(long employeeId) {
+        return employeeService.getEmployeeViewById(employeeId)
+                .flatMap(employee -> ServerResponse.ok().eTag(EmployeeETags.of(employee.version())).bodyValue(employee))
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.notFound().build()));
+    }
+
+    private static <T> Mono<T> body(ServerRequest request, Class<T> type) {
+        return request.bodyToMono(type).switchIfEmpty(Mono.error(() -> new InvalidRequestException("Request body is required")));
+    }
+
+    private static <T> Mono<T> body(ServerRequest request, ParameterizedTypeReference<T> type) {
+        return request.bodyToMono(type).switchIfEmpty(Mono.error(() -> new InvalidRequestException("Request body is required")));
+    }
+
+    private static long employeeId(ServerRequest request) {
+        return Long.parseLong(request.pathVariable("id"));
+    }
+}
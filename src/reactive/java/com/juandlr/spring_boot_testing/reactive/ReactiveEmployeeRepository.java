@@ -0,0 +1,41 @@
+package com.juandlr.spring_boot_testing.reactive;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+// R2DBC counterpart of EmployeeRepository, only the statements the reactive API needs
+public interface ReactiveEmployeeRepository extends ReactiveCrudRepository<ReactiveEmployee, Long> {
+
+    // rows are emitted as the subscriber requests them
+    Flux<ReactiveEmployee> findAllByOrderByIdAsc();
+
+    // keyset page: rows after the given id, walking the primary key index
+    @Query("SELECT * FROM employees WHERE id > :after ORDER BY id LIMIT :limit")
+    Flux<ReactiveEmployee> findPage(long after, int limit);
+
+    @Query("SELECT version FROM employees WHERE id = :id")
+    Mono<Long> findVersionById(long id);
+
+    @Query("SELECT email FROM employees WHERE email IN (:emails)")
+    Flux<String> findExistingEmails(Collection<String> emails);
+
+    // same single UPDATE as EmployeeRepository.patchById
+    @Modifying
+    @Query("UPDATE employees SET first_name = COALESCE(:firstName, first_name), last_name = COALESCE(:lastName, last_name), "
+            + "email = COALESCE(:email, email), version = version + 1 "
+            + "WHERE id = :id AND (:version IS NULL OR version = :version)")
+    Mono<Integer> patchById(long id, String firstName, String lastName, String email, Long version);
+
+    @Modifying
+    @Query("DELETE FROM employees WHERE id = :id")
+    Mono<Integer> deleteByIdDirectly(long id);
+
+    @Modifying
+    @Query("DELETE FROM employees WHERE id IN (:ids)")
+    Mono<Integer> deleteAllByIdDirectly(Collection<Long> ids);
+}
@@ -0,0 +1,65 @@
+package com.juandlr.spring_boot_testing.reactive;
+
+import com.juandlr.spring_boot_testing.config.EmployeeProperties;
+import com.juandlr.spring_boot_testing.entity.generator.TsidGenerator;
+import com.juandlr.spring_boot_testing.exception.InvalidRequestException;
+import com.juandlr.spring_boot_testing.exception.PreconditionFailedException;
+import com.juandlr.spring_boot_testing.exception.ResourceAlreadyExistsException;
+import com.juandlr.spring_boot_testing.exception.ResourceNotFoundException;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.headers;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveEmployeeRoutes {
+
+    @Bean
+    public TsidGenerator employeeIdGenerator(EmployeeProperties employeeProperties) {
+        return new TsidGenerator(employeeProperties.getId().requireNode());
+    }
+
+    // error mapping mirrors GlobalExceptionHandler, which only applies to annotated controllers
+    @Bean
+    public RouterFunction<ServerResponse> employeeRoutes(ReactiveEmployeeHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/employees", builder -> builder
+                        .POST("", handler::createEmployee)
+                        .POST("/bulk", handler::createEmployees)
+                        // only an explicit NDJSON Accept streams the whole list, accept() would also match */*
+                        .GET("", headers(headers -> headers.accept().contains(MediaType.APPLICATION_NDJSON)), handler::streamEmployees)
+                        .GET("", handler::getAllEmployees)
+                        .GET("/export", handler::streamEmployees)
+                        .GET("/{id}", handler::getEmployeeById)
+                        .PUT("/{id}", handler::updateEmployee)
+                        .PATCH("/{id}", handler::patchEmployee)
+                        .DELETE("", handler::deleteEmployees)
+                        .DELETE("/{id}", handler::deleteEmployee))
+                .onError(ResourceNotFoundException.class, (e, request) -> problem(HttpStatus.NOT_FOUND, e.getMessage()))
+                .onError(InvalidRequestException.class, (e, request) -> problem(HttpStatus.BAD_REQUEST, e.getMessage()))
+                .onError(NumberFormatException.class, (e, request) -> problem(HttpStatus.BAD_REQUEST, e.getMessage()))
+                .onError(ResourceAlreadyExistsException.class, (e, request) -> problem(HttpStatus.CONFLICT, e.getMessage()))
+                .onError(PreconditionFailedException.class, (e, request) -> problem(HttpStatus.PRECONDITION_FAILED, e.getMessage()))
+                .onError(OptimisticLockingFailureException.class,
+                        (e, request) -> problem(HttpStatus.CONFLICT, "Employee was modified concurrently, reload and retry"))
+                // handlers that throw before returning a Mono reach the error mappings above too
+                .filter((request, next) -> Mono.defer(() -> next.handle(request)))
+                .build();
+    }
+
+    private static Mono<ServerResponse> problem(HttpStatus status, String detail) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .bodyValue(ProblemDetail.forStatusAndDetail(status, detail));
+    }
+}
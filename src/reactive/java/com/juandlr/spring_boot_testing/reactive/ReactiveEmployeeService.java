@@ -0,0 +1,145 @@
+package com.juandlr.spring_boot_testing.reactive;
+
+import com.juandlr.spring_boot_testing.config.EmployeeProperties;
+import com.juandlr.spring_boot_testing.dto.EmployeeBulkResult;
+import com.juandlr.spring_boot_testing.dto.EmployeePage;
+import com.juandlr.spring_boot_testing.dto.EmployeePatch;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.entity.generator.TsidGenerator;
+import com.juandlr.spring_boot_testing.exception.InvalidRequestException;
+import com.juandlr.spring_boot_testing.exception.PreconditionFailedException;
+import com.juandlr.spring_boot_testing.exception.ResourceNotFoundException;
+import com.juandlr.spring_boot_testing.service.EmployeeWriteRules;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// non-blocking counterpart of EmployeeServiceImpl, same rules and messages; ids are always TSIDs
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository employeeRepository;
+    private final EmployeeProperties employeeProperties;
+    private final TsidGenerator employeeIdGenerator;
+
+    public Mono<EmployeeView> saveEmployee(Employee employee) {
+        // the unique index on email is the duplicate check, so a create is a single insert
+        return employeeRepository.save(newRow(employee))
+                .map(ReactiveEmployee::toView)
+                .onErrorMap(DataIntegrityViolationException.class, e -> EmployeeWriteRules.duplicateEmailOrRethrow(e, employee.getEmail()));
+    }
+
+    @Transactional
+    public Mono<List<EmployeeBulkResult>> saveEmployees(List<Employee> employees) {
+        int maxSize = employeeProperties.getBulk().getMaxSize();
+        if (employees.size() > maxSize) {
+            return Mono.error(EmployeeWriteRules.tooManyEmployees(maxSize));
+        }
+
+        List<String> emails = EmployeeWriteRules.emails(employees);
+        Mono<List<String>> existingEmails = emails.isEmpty() ? Mono.just(List.of())
+                : employeeRepository.findExistingEmails(emails).collectList();
+
+        return existingEmails.flatMap(existing -> {
+            EmployeeWriteRules.BulkCheck check = EmployeeWriteRules.checkBulk(employees, existing);
+            return employeeRepository.saveAll(check.accepted().stream().map(this::newRow).toList())
+                    .index()
+                    .doOnNext(saved -> check.created(saved.getT1().intValue(), saved.getT2().id(), saved.getT2().email()))
+                    .then(Mono.fromSupplier(check::results));
+        }).onErrorMap(DataIntegrityViolationException.class, e -> EmployeeWriteRules.duplicateEmailOrRethrow(e, null));
+    }
+
+    public Mono<EmployeePage> getEmployeePage(Long after, Integer limit) {
+        int pageSize = employeeProperties.getPage().resolveSize(limit);
+        long cursor = after == null ? Long.MIN_VALUE : after;
+
+        // fetch one extra row to know whether there is a next page without a count query
+        return employeeRepository.findPage(cursor, pageSize + 1)
+                .map(ReactiveEmployee::toView)
+                .collectList()
+                .map(employees -> {
+                    if (employees.size() > pageSize) {
+                        List<EmployeeView> page = List.copyOf(employees.subList(0, pageSize));
+                        return new EmployeePage(page, page.get(pageSize - 1).id());
+                    }
+                    return new EmployeePage(employees, null);
+                });
+    }
+
+    // rows are requested from the driver in fetch-size batches as the client consumes them
+    public Flux<EmployeeView> streamEmployees() {
+        return employeeRepository.findAllByOrderByIdAsc()
+                .limitRate(employeeProperties.getExport().getFetchSize())
+                .map(ReactiveEmployee::toView);
+    }
+
+    public Mono<EmployeeView> getEmployeeViewById(long id) {
+        return employeeRepository.findById(id).map(ReactiveEmployee::toView);
+    }
+
+    public Mono<Long> getEmployeeVersion(long id) {
+        return employeeRepository.findVersionById(id);
+    }
+
+    public Mono<EmployeeView> updateEmployee(long id, Employee employee) {
+        return employeeRepository.findById(id)
+                .flatMap(saved -> employeeRepository.save(new ReactiveEmployee(saved.id(), employee.getFirstName(),
+                        employee.getLastName(), employee.getEmail(), saved.version())))
+                .map(ReactiveEmployee::toView)
+                .onErrorMap(DataIntegrityViolationException.class, e -> EmployeeWriteRules.duplicateEmailOrRethrow(e, employee.getEmail()));
+    }
+
+    public Mono<Void> patchEmployee(long id, EmployeePatch patch, Long expectedVersion) {
+        if (patch.isEmpty()) {
+            return Mono.error(new InvalidRequestException("At least one of firstName, lastName or email is required"));
+        }
+        return employeeRepository.patchById(id, patch.firstName(), patch.lastName(), patch.email(), expectedVersion)
+                .onErrorMap(DataIntegrityViolationException.class, e -> EmployeeWriteRules.duplicateEmailOrRethrow(e, patch.email()))
+                .flatMap(updated -> {
+                    if (updated > 0) {
+                        return Mono.empty();
+                    }
+                    // only the failure path pays for the extra lookup that tells a missing row from a stale version
+                    Mono<Boolean> exists = expectedVersion == null ? Mono.just(false) : employeeRepository.existsById(id);
+                    return exists.flatMap(found -> Mono.error(found
+                            ? new PreconditionFailedException("Employee " + id + " is no longer at version " + expectedVersion)
+                            : new ResourceNotFoundException("Employee not found with given id " + id)));
+                });
+    }
+
+    public Mono<Void> deleteEmployee(long id) {
+        return employeeRepository.deleteByIdDirectly(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(new ResourceNotFoundException("Employee not found with given id " + id))
+                        : Mono.empty());
+    }
+
+    public Mono<Integer> deleteEmployees(Collection<Long> ids) {
+        Set<Long> distinctIds = new HashSet<>(ids);
+        if (distinctIds.isEmpty()) {
+            return Mono.error(new InvalidRequestException("At least one id is required"));
+        }
+        int maxSize = employeeProperties.getBulk().getMaxSize();
+        if (distinctIds.size() > maxSize) {
+            return Mono.error(EmployeeWriteRules.tooManyEmployees(maxSize));
+        }
+        return employeeRepository.deleteAllByIdDirectly(distinctIds);
+    }
+
+    private ReactiveEmployee newRow(Employee employee) {
+        return new ReactiveEmployee(employeeIdGenerator.nextId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), null);
+    }
+}
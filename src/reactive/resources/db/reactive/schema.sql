@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS employees (
+    id BIGINT NOT NULL PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT uk_employees_email UNIQUE (email)
+);
+
+CREATE INDEX IF NOT EXISTS idx_employees_last_name_first_name ON employees (last_name, first_name);
@@ -0,0 +1,102 @@
+package com.juandlr.spring_boot_testing.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// run with: mvn test -Pbenchmark -Dtest=EmployeeBulkInsertBenchmark
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+public class EmployeeBulkInsertBenchmark {
+
+    private static final int EMPLOYEES = 5_000;
+    private static final int WARM_UP_EMPLOYEES = 500;
+    private static final int BULK_SIZE = 1_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("Bulk create endpoint against one request per employee on H2")
+    @Test
+    public void givenEmployees_whenCreatedInBulk_thenFasterThanSingleItemRequests() throws Exception {
+
+        //given - precondition or setup, warm up both paths so JIT and plan caches are hot
+        createOneByOne(employees("warm-single", WARM_UP_EMPLOYEES));
+        createInBulk(employees("warm-bulk", WARM_UP_EMPLOYEES));
+        employeeRepository.deleteAllInBatch();
+
+        //when - action or the behaviour that we are going test
+        long singleNanos = createOneByOne(employees("single", EMPLOYEES));
+        employeeRepository.deleteAllInBatch();
+        long bulkNanos = createInBulk(employees("bulk", EMPLOYEES));
+
+        //then - verify the output
+        System.out.printf("%d employees: single-item %d ms, bulk %d ms, speedup %.1fx%n",
+                EMPLOYEES, singleNanos / 1_000_000, bulkNanos / 1_000_000, (double) singleNanos / bulkNanos);
+        assertThat(employeeRepository.count()).isEqualTo(EMPLOYEES);
+        assertThat(bulkNanos).isLessThan(singleNanos);
+    }
+
+    private long createOneByOne(List<Employee> employees) throws Exception {
+        long start = System.nanoTime();
+        for (Employee employee : employees) {
+            mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsBytes(employee)))
+                    .andExpect(status().isCreated());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long createInBulk(List<Employee> employees) throws Exception {
+        long start = System.nanoTime();
+        for (int from = 0; from < employees.size(); from += BULK_SIZE) {
+            List<Employee> chunk = employees.subList(from, Math.min(from + BULK_SIZE, employees.size()));
+            mockMvc.perform(post("/api/employees/bulk").contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsBytes(chunk)))
+                    .andExpect(status().isOk());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static List<Employee> employees(String prefix, int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(Employee.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email(prefix + i + "@example.com")
+                    .build());
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,128 @@
+package com.juandlr.spring_boot_testing.benchmark;
+
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// GET /api/employees/{id} over HTTP with the encoded response cache and without it (a zero-byte
+// bound keeps nothing); every view is cached in both runs, so the difference is the encoding.
+// Allocation is measured for the whole JVM, the client's share is the same in both runs.
+// run with: mvn test -Pbenchmark -Dtest=EmployeeResponseCacheBenchmark
+@Tag("benchmark")
+public class EmployeeResponseCacheBenchmark {
+
+    private static final int EMPLOYEES = 1_000;
+    private static final int CLIENTS = 32;
+    private static final int REQUESTS_PER_CLIENT = 1_000;
+    private static final int ROUNDS = 3;
+
+    @DisplayName("GET by id on a real server with and without the encoded response cache")
+    @Test
+    public void givenCachedViews_whenServedWithAndWithoutEncodedResponses_thenReportThroughputAndAllocation() throws Exception {
+
+        //given - precondition or setup
+        List<Result> cached = new ArrayList<>();
+        List<Result> encoded = new ArrayList<>();
+
+        //when - action or the behaviour that we are going test, alternating so drift hits both
+        for (int round = 0; round < ROUNDS; round++) {
+            cached.add(run("response-cache", "response-cache-" + round));
+            encoded.add(run("encode-per-request", "encode-per-request-" + round,
+                    "employees.cache.response-maximum-size=0"));
+        }
+
+        //then - verify the output
+        System.out.printf("%d clients x %d GET by id, %d rounds, median round%n", CLIENTS, REQUESTS_PER_CLIENT, ROUNDS);
+        for (List<Result> results : List.of(cached, encoded)) {
+            Result median = results.stream()
+                    .sorted((a, b) -> Double.compare(a.throughput(), b.throughput()))
+                    .toList().get(ROUNDS / 2);
+            System.out.printf("%-20s %8.0f req/s  p50 %6.2f ms  p99 %6.2f ms  %6.1f KB allocated/request%n",
+                    median.name(), median.throughput(), median.percentileMillis(0.50), median.percentileMillis(0.99),
+                    median.allocatedBytes() / 1024.0 / median.sortedLatencies().length);
+        }
+        assertThat(cached).allSatisfy(result -> assertThat(result.failures()).isZero());
+        assertThat(encoded).allSatisfy(result -> assertThat(result.failures()).isZero());
+    }
+
+    private Result run(String name, String database, String... properties) throws Exception {
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(database, properties)) {
+            String baseUrl = BenchmarkApplication.baseUrl(context);
+            List<Long> ids = context.getBean(EmployeeRepository.class)
+                    .saveAll(BenchmarkApplication.employees(database, EMPLOYEES)).stream()
+                    .map(Employee::getId)
+                    .toList();
+
+            // fills the view cache, and the response cache when it is on, and warms up the JIT
+            load(name, baseUrl, ids, REQUESTS_PER_CLIENT);
+            return load(name, baseUrl, ids, REQUESTS_PER_CLIENT);
+        }
+    }
+
+    private Result load(String name, String baseUrl, List<Long> ids, int requestsPerClient) throws Exception {
+        long[] latencies = new long[CLIENTS * requestsPerClient];
+        int[] failures = new int[CLIENTS];
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(clients).build()) {
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            for (int client = 0; client < CLIENTS; client++) {
+                int clientIndex = client;
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        long id = ids.get((clientIndex * requestsPerClient + i) % ids.size());
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/employees/" + id)).build();
+                        long sent = System.nanoTime();
+                        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        latencies[clientIndex * requestsPerClient + i] = System.nanoTime() - sent;
+                        if (response.statusCode() != 200) {
+                            failures[clientIndex]++;
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            long allocated = allocatedBytes() - allocatedBefore;
+            Arrays.sort(latencies);
+            return new Result(name, latencies, elapsed, allocated, Arrays.stream(failures).sum());
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getTotalThreadAllocatedBytes();
+    }
+
+    private record Result(String name, long[] sortedLatencies, long elapsedNanos, long allocatedBytes, int failures) {
+
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        double percentileMillis(double percentile) {
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.juandlr.spring_boot_testing.benchmark;
+
+import com.juandlr.spring_boot_testing.SpringBootTestingApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// time from JVM launch to the first successful GET /api/employees, one fresh process per run, for each
+// start-up mode; the aot modes need `mvn package -Paot -DskipTests` first and are skipped otherwise.
+// AOT fixes the active profiles at build time, so the deferred profile is only measured without it
+// run with: mvn test -Pbenchmark -Dtest=EmployeeStartupBenchmark
+@Tag("benchmark")
+public class EmployeeStartupBenchmark {
+
+    private static final int RUNS = 5;
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(60);
+    private static final Path TARGET = Path.of("target");
+    private static final Path EXTRACTED = TARGET.resolve("extracted");
+    private static final Path LOGS = TARGET.resolve("startup-benchmark");
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    @DisplayName("Time to first successful request for each start-up mode")
+    @Test
+    public void givenStartupModes_whenLaunched_thenReportTimeToFirstRequest() throws Exception {
+
+        //given - precondition or setup
+        Files.createDirectories(LOGS);
+        List<String> classpath = List.of("-cp", runtimeClasspath(), SpringBootTestingApplication.class.getName());
+        boolean aotCompiled = Files.exists(TARGET.resolve("classes/com/juandlr/spring_boot_testing/"
+                + SpringBootTestingApplication.class.getSimpleName() + "__ApplicationContextInitializer.class"));
+        Path archive = EXTRACTED.resolve("application.jsa");
+        Path jar = extractedJar();
+
+        //when - action or the behaviour that we are going test
+        List<Result> results = new ArrayList<>();
+        results.add(run("default", List.of(), classpath, List.of()));
+        results.add(run("deferred", List.of(), classpath, List.of("--spring.profiles.active=deferred")));
+        if (aotCompiled) {
+            results.add(run("aot", List.of("-Dspring.aot.enabled=true"), classpath, List.of()));
+        } else {
+            System.out.println("aot: skipped, no AOT-generated classes in target/classes");
+        }
+        if (aotCompiled && Files.exists(archive) && jar != null) {
+            results.add(run("aot+cds", List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true"),
+                    List.of("-jar", jar.toString()), List.of()));
+        } else {
+            System.out.println("aot+cds: skipped, no CDS archive in " + EXTRACTED);
+        }
+
+        //then - verify the output
+        System.out.printf("%d runs per mode, time to first 200 from GET /api/employees%n", RUNS);
+        for (Result result : results) {
+            System.out.printf("%-18s median %6d ms  min %6d ms  max %6d ms%n", result.name(),
+                    result.median(), result.sortedMillis()[0], result.sortedMillis()[RUNS - 1]);
+        }
+        assertThat(results).allSatisfy(result -> assertThat(result.sortedMillis()).hasSize(RUNS));
+    }
+
+    private Result run(String name, List<String> jvmOptions, List<String> launch, List<String> arguments) throws Exception {
+        long[] millis = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            millis[i] = timeToFirstRequest(name + "-" + i, jvmOptions, launch, arguments);
+        }
+        Arrays.sort(millis);
+        return new Result(name, millis);
+    }
+
+    private long timeToFirstRequest(String run, List<String> jvmOptions, List<String> launch, List<String> arguments)
+            throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(launch);
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1");
+        command.add("--spring.datasource.username=sa");
+        command.add("--spring.datasource.password=");
+        command.addAll(arguments);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        Path log = LOGS.resolve(run + ".log");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = start + START_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(run + " exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(run + " did not answer within " + START_TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    // the application jar `extract` wrote next to lib/, whatever the artifact version
+    private static Path extractedJar() throws IOException {
+        if (!Files.isDirectory(EXTRACTED)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(EXTRACTED)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jar")).findFirst().orElse(null);
+        }
+    }
+
+    // the application's runtime classpath as Surefire sees it, without the test classes
+    private static String runtimeClasspath() {
+        return Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> !entry.endsWith("test-classes"))
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Result(String name, long[] sortedMillis) {
+
+        long median() {
+            return sortedMillis[sortedMillis.length / 2];
+        }
+    }
+}
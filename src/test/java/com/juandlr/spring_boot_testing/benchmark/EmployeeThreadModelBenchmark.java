@@ -0,0 +1,117 @@
+package com.juandlr.spring_boot_testing.benchmark;
+
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// run with: mvn test -Pbenchmark -Dtest=EmployeeThreadModelBenchmark
+@Tag("benchmark")
+public class EmployeeThreadModelBenchmark {
+
+    private static final int EMPLOYEES = 1_000;
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 50;
+    private static final int WARM_UP_REQUESTS_PER_CLIENT = 10;
+
+    @DisplayName("Platform against virtual request threads under concurrent load on H2")
+    @Test
+    public void givenConcurrentClients_whenServedByPlatformOrVirtualThreads_thenReportThroughputAndP99() throws Exception {
+
+        //given - precondition or setup, same load against otherwise identical applications; the limited
+        //modes sweep employees.concurrency.requests-per-connection over Hikari's default pool of 10
+        //when - action or the behaviour that we are going test
+        Result platform = run("platform", "spring.threads.virtual.enabled=false");
+        Result virtual = run("virtual", "spring.threads.virtual.enabled=true");
+        List<Result> results = new ArrayList<>(List.of(platform, virtual));
+        for (int requestsPerConnection : new int[]{8, 16, 32}) {
+            results.add(run("virtual-x" + requestsPerConnection, "spring.threads.virtual.enabled=true",
+                    "employees.concurrency.requests-per-connection=" + requestsPerConnection));
+        }
+        results.add(run("virtual-unlimited", "spring.threads.virtual.enabled=true", "employees.concurrency.enabled=false"));
+
+        //then - verify the output
+        System.out.printf("%d clients x %d requests%n", CLIENTS, REQUESTS_PER_CLIENT);
+        for (Result result : results) {
+            System.out.printf("%-18s %8.0f req/s  p50 %6.1f ms  p99 %6.1f ms  non-2xx %d%n", result.name(),
+                    result.throughput(), result.percentileMillis(0.50), result.percentileMillis(0.99), result.failures());
+        }
+        assertThat(platform.failures()).isZero();
+        assertThat(virtual.failures()).isZero();
+    }
+
+    private Result run(String name, String... properties) throws Exception {
+        List<String> settings = new ArrayList<>(Arrays.asList(properties));
+        // long enough that the limiter queues requests instead of rejecting them during the measurement
+        settings.add("employees.concurrency.acquire-timeout=30s");
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(name, settings.toArray(String[]::new))) {
+            EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+            employeeRepository.saveAll(BenchmarkApplication.employees("employee", EMPLOYEES));
+            List<Long> ids = employeeRepository.findAll().stream().map(Employee::getId).toList();
+            String baseUrl = BenchmarkApplication.baseUrl(context);
+
+            load(name, baseUrl, ids, WARM_UP_REQUESTS_PER_CLIENT);
+            return load(name, baseUrl, ids, REQUESTS_PER_CLIENT);
+        }
+    }
+
+    // every client is a virtual thread issuing page requests back to back, each starting at a different cursor
+    private Result load(String name, String baseUrl, List<Long> ids, int requestsPerClient) throws Exception {
+        long[] latencies = new long[CLIENTS * requestsPerClient];
+        int[] failures = new int[CLIENTS];
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(clients).build()) {
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            long start = System.nanoTime();
+            for (int client = 0; client < CLIENTS; client++) {
+                int clientIndex = client;
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        long after = ids.get((clientIndex * requestsPerClient + i) % ids.size());
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/employees?limit=20&after=" + after)).build();
+                        long sent = System.nanoTime();
+                        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        latencies[clientIndex * requestsPerClient + i] = System.nanoTime() - sent;
+                        if (response.statusCode() / 100 != 2) {
+                            failures[clientIndex]++;
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            Arrays.sort(latencies);
+            return new Result(name, latencies, elapsed, Arrays.stream(failures).sum());
+        }
+    }
+
+    private record Result(String name, long[] sortedLatencies, long elapsedNanos, int failures) {
+
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        double percentileMillis(double percentile) {
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.juandlr.spring_boot_testing.benchmark.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juandlr.spring_boot_testing.benchmark.BenchmarkApplication;
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// full MVC path (dispatch, argument binding, service, Jackson) without the network stack
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeControllerJmh {
+
+    private static final int EMPLOYEES = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper;
+    private List<Long> ids;
+    private final AtomicLong sequence = new AtomicLong();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("jmh-controller", "employees.concurrency.enabled=false");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        objectMapper = context.getBean(ObjectMapper.class);
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        ids = employeeRepository.saveAll(BenchmarkApplication.employees("seed", EMPLOYEES)).stream()
+                .map(Employee::getId)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult getEmployeeById() throws Exception {
+        next = (next + 1) % ids.size();
+        return mockMvc.perform(get("/api/employees/{id}", ids.get(next))).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getEmployeePage() throws Exception {
+        next = (next + 1) % ids.size();
+        return mockMvc.perform(get("/api/employees").param("after", ids.get(next).toString()).param("limit", "50")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult createEmployee() throws Exception {
+        long n = sequence.incrementAndGet();
+        Employee employee = Employee.builder()
+                .firstName("First" + n)
+                .lastName("Last" + n)
+                .email("create" + n + "@example.com")
+                .build();
+        return mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(employee))).andReturn();
+    }
+}
@@ -0,0 +1,151 @@
+package com.juandlr.spring_boot_testing.benchmark.jmh;
+
+import com.juandlr.spring_boot_testing.benchmark.BenchmarkApplication;
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// the same first/last-name lookup through every query style EmployeeRepository offers, plus a
+// projection and a Criteria variant; run with -prof gc (the jmh profile does) for allocation rates
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmployeeQueryJmh {
+
+    private static final int LOOKUP_KEYS = 1_024;
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private Statistics statistics;
+    private String[] firstNames;
+    private String[] lastNames;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("jmh-query-" + rows,
+                "employees.concurrency.enabled=false",
+                "spring.jpa.properties.hibernate.generate_statistics=true");
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        statistics = context.getBean(jakarta.persistence.EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        // set-based seed, going through JPA would take minutes at a million rows
+        context.getBean(JdbcTemplate.class).update("INSERT INTO employees (id, first_name, last_name, email, version) "
+                + "SELECT X, 'First' || X, 'Last' || X, 'employee' || X || '@example.com', 0 FROM SYSTEM_RANGE(1, ?)", rows);
+
+        SplittableRandom random = new SplittableRandom(42);
+        firstNames = new String[LOOKUP_KEYS];
+        lastNames = new String[LOOKUP_KEYS];
+        for (int i = 0; i < LOOKUP_KEYS; i++) {
+            int row = random.nextInt(1, rows + 1);
+            firstNames[i] = "First" + row;
+            lastNames[i] = "Last" + row;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // prepared statements per iteration, reported next to the ops/s score, so equal rates mean one statement per lookup
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class StatementCounter {
+
+        public long statements;
+
+        private long before;
+
+        @Setup(Level.Iteration)
+        public void start(EmployeeQueryJmh benchmark) {
+            statements = 0;
+            before = benchmark.statistics.getPrepareStatementCount();
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop(EmployeeQueryJmh benchmark) {
+            statements = benchmark.statistics.getPrepareStatementCount() - before;
+        }
+    }
+
+    @Benchmark
+    public Employee jpqlIndexParams(StatementCounter counter) {
+        int key = nextKey();
+        return employeeRepository.findByJPQL(firstNames[key], lastNames[key]);
+    }
+
+    @Benchmark
+    public Employee jpqlNamedParams(StatementCounter counter) {
+        int key = nextKey();
+        return employeeRepository.findByJPQLNamedParams(firstNames[key], lastNames[key]);
+    }
+
+    @Benchmark
+    public Employee nativeIndexParams(StatementCounter counter) {
+        int key = nextKey();
+        return employeeRepository.findByNativeSQL(firstNames[key], lastNames[key]);
+    }
+
+    @Benchmark
+    public Employee nativeNamedParams(StatementCounter counter) {
+        int key = nextKey();
+        return employeeRepository.findByNativeSQLNamed(firstNames[key], lastNames[key]);
+    }
+
+    // scalar columns only, no entity hydration and no persistence-context entry
+    @Benchmark
+    public List<Tuple> projection(StatementCounter counter) {
+        int key = nextKey();
+        return readOnly.execute(status -> entityManager.createQuery(
+                        "select e.id as id, e.email as email from Employee e where e.firstName = :firstName and e.lastName = :lastName",
+                        Tuple.class)
+                .setParameter("firstName", firstNames[key])
+                .setParameter("lastName", lastNames[key])
+                .getResultList());
+    }
+
+    @Benchmark
+    public List<Employee> criteria(StatementCounter counter) {
+        int key = nextKey();
+        return readOnly.execute(status -> {
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Employee> query = builder.createQuery(Employee.class);
+            Root<Employee> employee = query.from(Employee.class);
+            query.where(builder.equal(employee.get("firstName"), firstNames[key]),
+                    builder.equal(employee.get("lastName"), lastNames[key]));
+            return entityManager.createQuery(query).getResultList();
+        });
+    }
+
+    private int nextKey() {
+        next = (next + 1) & (LOOKUP_KEYS - 1);
+        return next;
+    }
+}
@@ -0,0 +1,81 @@
+package com.juandlr.spring_boot_testing.benchmark.jmh;
+
+import com.juandlr.spring_boot_testing.benchmark.BenchmarkApplication;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
+import com.juandlr.spring_boot_testing.search.EmployeeSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// type-ahead queries against the search index built from the employees table; sample time mode so
+// the report carries the p99/p99.9 latencies next to the mean
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class EmployeeSearchJmh {
+
+    private static final int LOOKUP_KEYS = 1_024;
+    private static final int LIMIT = 10;
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeSearchIndex searchIndex;
+    private String[] selective;
+    private String[] prefixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("jmh-search-" + rows, "employees.concurrency.enabled=false");
+        // set-based seed, going through JPA would take minutes at a million rows
+        context.getBean(JdbcTemplate.class).update("INSERT INTO employees (id, first_name, last_name, email, version) "
+                + "SELECT X, 'First' || X, 'Last' || X, 'employee' || X || '@example.com', 0 FROM SYSTEM_RANGE(1, ?)", rows);
+        searchIndex = context.getBean(EmployeeSearchIndex.class);
+        searchIndex.rebuild();
+
+        SplittableRandom random = new SplittableRandom(42);
+        selective = new String[LOOKUP_KEYS];
+        prefixes = new String[LOOKUP_KEYS];
+        for (int i = 0; i < LOOKUP_KEYS; i++) {
+            selective[i] = "st" + random.nextInt(1, rows + 1);
+            prefixes[i] = random.nextBoolean() ? "fi" : "e";
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // substring of one employee's last name, e.g. "st48213"
+    @Benchmark
+    public List<EmployeeView> substring() {
+        return searchIndex.search(selective[nextKey()], LIMIT);
+    }
+
+    // one or two characters typed, every row matches and the first page is returned
+    @Benchmark
+    public List<EmployeeView> shortPrefix() {
+        return searchIndex.search(prefixes[nextKey()], LIMIT);
+    }
+
+    // a term every row contains, verified against candidates until the limit is reached
+    @Benchmark
+    public List<EmployeeView> commonSubstring() {
+        return searchIndex.search("example", LIMIT);
+    }
+
+    private int nextKey() {
+        next = (next + 1) & (LOOKUP_KEYS - 1);
+        return next;
+    }
+}
@@ -0,0 +1,70 @@
+package com.juandlr.spring_boot_testing.benchmark.jmh;
+
+import com.juandlr.spring_boot_testing.benchmark.BenchmarkApplication;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
+import com.juandlr.spring_boot_testing.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// service hot paths through the Spring proxies (transactions, cache) against embedded H2
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceJmh {
+
+    private static final int EMPLOYEES = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private List<Long> ids;
+    private final AtomicLong sequence = new AtomicLong();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("jmh-service", "employees.concurrency.enabled=false");
+        employeeService = context.getBean(EmployeeService.class);
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        ids = employeeRepository.saveAll(BenchmarkApplication.employees("seed", EMPLOYEES)).stream()
+                .map(Employee::getId)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee saveEmployee() {
+        long n = sequence.incrementAndGet();
+        return employeeService.saveEmployee(Employee.builder()
+                .firstName("First" + n)
+                .lastName("Last" + n)
+                .email("save" + n + "@example.com")
+                .build());
+    }
+
+    // the entity lookup behind PUT, not cached, so every call reaches H2
+    @Benchmark
+    public Optional<Employee> getEmployeeById() {
+        next = (next + 1) % ids.size();
+        return employeeService.getEmployeeById(ids.get(next));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<EmployeeView> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+}
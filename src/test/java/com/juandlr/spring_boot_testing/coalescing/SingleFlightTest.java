@@ -0,0 +1,204 @@
+package com.juandlr.spring_boot_testing.coalescing;
+
+import com.juandlr.spring_boot_testing.config.EmployeeProperties;
+import com.juandlr.spring_boot_testing.config.MetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private MeterRegistry meterRegistry;
+
+    private SingleFlight singleFlight;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeProperties employeeProperties = new EmployeeProperties();
+        employeeProperties.getCoalescing().setMaxInFlightKeys(2);
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(employeeProperties, meterRegistry);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // JUnit test for execute method
+    @DisplayName("JUnit test for execute method")
+    @Test
+    public void givenConcurrentCallersForSameKey_whenExecute_thenShareOneLoad() throws Exception {
+
+        //given - precondition or setup
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> loader = () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "juan";
+        };
+
+        //when - action or the behaviour that we are going test
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(1L, loader)));
+        }
+        // the load is held open until every caller has joined it
+        awaitCount("leader", 1);
+        awaitCount("joined", CALLERS - 1);
+        release.countDown();
+
+        //then - verify the output
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("juan");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get(MetricsConfig.COALESCING_RATIO_GAUGE).gauge().value())
+                .isEqualTo((CALLERS - 1) / (double) CALLERS);
+        assertThat(meterRegistry.get(MetricsConfig.COALESCING_IN_FLIGHT_GAUGE).gauge().value()).isZero();
+    }
+
+    // JUnit test for execute method after a completed load
+    @DisplayName("JUnit test for execute method after a completed load")
+    @Test
+    public void givenCompletedLoad_whenExecute_thenLoadAgain(){
+
+        //given - precondition or setup
+        AtomicInteger loads = new AtomicInteger();
+        singleFlight.execute(1L, loads::incrementAndGet);
+
+        //when - action or the behaviour that we are going test
+        int second = singleFlight.execute(1L, loads::incrementAndGet);
+
+        //then - verify the output
+        assertThat(second).isEqualTo(2);
+        assertThat(count("leader")).isEqualTo(2);
+    }
+
+    // JUnit test for execute method which throws exception
+    @DisplayName("JUnit test for execute method which throws exception")
+    @Test
+    public void givenFailingLoad_whenExecute_thenEveryCallerGetsTheException() throws Exception {
+
+        //given - precondition or setup
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+        Supplier<String> loader = () -> {
+            await(release);
+            throw failure;
+        };
+
+        //when - action or the behaviour that we are going test
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, loader));
+        awaitCount("leader", 1);
+        Future<String> follower = executor.submit(() -> singleFlight.execute(1L, loader));
+        awaitCount("joined", 1);
+        release.countDown();
+
+        //then - verify the output
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertThat(leaderFailure.getCause()).isSameAs(failure);
+        assertThat(followerFailure.getCause()).isSameAs(failure);
+    }
+
+    // JUnit test for execute method beyond the in-flight key bound
+    @DisplayName("JUnit test for execute method beyond the in-flight key bound")
+    @Test
+    public void givenMaxInFlightKeys_whenExecuteAnotherKey_thenLoadWithoutCoalescing() throws Exception {
+
+        //given - precondition or setup
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> blocked = () -> {
+            await(release);
+            return "loaded";
+        };
+        Future<String> first = executor.submit(() -> singleFlight.execute(1L, blocked));
+        Future<String> second = executor.submit(() -> singleFlight.execute(2L, blocked));
+        awaitCount("leader", 2);
+
+        //when - action or the behaviour that we are going test
+        String third = singleFlight.execute(3L, () -> "direct");
+        release.countDown();
+
+        //then - verify the output
+        assertThat(third).isEqualTo("direct");
+        assertThat(count("bypassed")).isEqualTo(1);
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+    }
+
+    // JUnit test for invalidate method
+    @DisplayName("JUnit test for invalidate method")
+    @Test
+    public void givenLoadInFlight_whenInvalidate_thenLoadAgainBeforeSharing() throws Exception {
+
+        //given - precondition or setup
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Integer> loader = () -> {
+            int load = loads.incrementAndGet();
+            if (load == 1) {
+                await(release);
+            }
+            return load;
+        };
+        Future<Integer> leader = executor.submit(() -> singleFlight.execute(1L, loader));
+        awaitCount("leader", 1);
+        Future<Integer> follower = executor.submit(() -> singleFlight.execute(1L, loader));
+        awaitCount("joined", 1);
+
+        //when - action or the behaviour that we are going test
+        singleFlight.invalidate(1L);
+        release.countDown();
+
+        //then - verify the output
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(loads).hasValue(2);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get(MetricsConfig.COALESCING_COUNTER).tag("outcome", outcome).counter().count();
+    }
+
+    private void awaitCount(String outcome, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(outcome) < expected) {
+            assertThat(System.nanoTime()).as("%s callers", outcome).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
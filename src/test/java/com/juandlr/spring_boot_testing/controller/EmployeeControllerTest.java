@@ -1,38 +1,82 @@
 package com.juandlr.spring_boot_testing.controller;
 
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.juandlr.spring_boot_testing.config.BinaryFormatsConfig;
+import com.juandlr.spring_boot_testing.config.EmployeeProperties;
+import com.juandlr.spring_boot_testing.dto.EmployeeBulkResult;
+import com.juandlr.spring_boot_testing.dto.EmployeeIngestionStatus;
+import com.juandlr.spring_boot_testing.dto.EmployeePage;
+import com.juandlr.spring_boot_testing.dto.EmployeePatch;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
 import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.exception.InvalidRequestException;
+import com.juandlr.spring_boot_testing.exception.ResourceAlreadyExistsException;
+import com.juandlr.spring_boot_testing.exception.ResourceNotFoundException;
+import com.juandlr.spring_boot_testing.exception.ServiceUnavailableException;
+import com.juandlr.spring_boot_testing.exception.TooManyRequestsException;
+import com.juandlr.spring_boot_testing.ingestion.EmployeeIngestionQueue;
 import com.juandlr.spring_boot_testing.service.EmployeeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.CoreMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.mockito.BDDMockito.*;
+import static org.assertj.core.api.Assertions.assertThat;
 
 @WebMvcTest
+@Import({BinaryFormatsConfig.class, EmployeeResponseCache.class})
+@EnableConfigurationProperties(EmployeeProperties.class)
 public class EmployeeControllerTest {
 
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    // every GET encodes its view, bytes cached by one test must not answer another
+    @TestConfiguration
+    static class NoCacheConfig {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+
     @Autowired
     private MockMvc mockMvc;
 
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeIngestionQueue employeeIngestionQueue;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -45,6 +89,7 @@ public class EmployeeControllerTest {
                 .firstName("Juan")
                 .lastName("de la Rosa")
                 .email("juan@example.com")
+                .version(0L)
                 .build();
 
         employee2 = Employee.builder()
@@ -52,6 +97,7 @@ public class EmployeeControllerTest {
                 .firstName("Rodrigo")
                 .lastName("Sarabia")
                 .email("rodrigo@example.com")
+                .version(0L)
                 .build();
     }
 
@@ -74,16 +120,220 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$.email", is(employee1.getEmail())));
     }
 
+    // JUnit test for create employee REST API - duplicate email
+    @DisplayName("JUnit test for create employee REST API - duplicate email")
+    @Test
+    public void givenDuplicateEmail_whenCreateEmployee_thenReturnConflict() throws Exception {
+
+        //given - precondition or setup
+        given(employeeService.saveEmployee(ArgumentMatchers.any(Employee.class)))
+                .willThrow(new ResourceAlreadyExistsException("Employee already exist with given email " + employee1.getEmail()));
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(employee1)));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail", is("Employee already exist with given email " + employee1.getEmail())));
+    }
+
+    // JUnit test for create employee REST API - CBOR
+    @DisplayName("JUnit test for create employee REST API - CBOR")
+    @Test
+    public void givenCborBody_whenCreateEmployee_thenReturnCborEmployee() throws Exception {
+
+        //given - precondition or setup
+        CBORMapper cborMapper = new CBORMapper();
+        given(employeeService.saveEmployee(ArgumentMatchers.any(Employee.class))).willAnswer((invocation) -> invocation.getArgument(0));
+
+        //when - action or the behaviour that we are going test
+        MvcResult result = mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR).content(cborMapper.writeValueAsBytes(employee1)))
+                .andReturn();
+
+        //then - verify the output
+        assertThat(result.getResponse().getStatus()).isEqualTo(201);
+        assertThat(result.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR_VALUE);
+        Employee created = cborMapper.readValue(result.getResponse().getContentAsByteArray(), Employee.class);
+        assertThat(created.getEmail()).isEqualTo(employee1.getEmail());
+        assertThat(created.getFirstName()).isEqualTo(employee1.getFirstName());
+    }
+
+    // JUnit test for async create employee REST API
+    @DisplayName("JUnit test for async create employee REST API")
+    @Test
+    public void givenRespondAsyncPreference_whenCreateEmployee_thenReturnAcceptedWithTrackingId() throws Exception {
+
+        //given - precondition or setup
+        given(employeeIngestionQueue.submit(ArgumentMatchers.any(Employee.class)))
+                .willReturn(EmployeeIngestionStatus.queued("abc", employee1.getEmail()));
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/employees").header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(employee1)));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/employees/ingestions/abc"))
+                .andExpect(header().string(EmployeeController.PREFERENCE_APPLIED_HEADER, "respond-async"))
+                .andExpect(jsonPath("$.trackingId", is("abc")))
+                .andExpect(jsonPath("$.state", is("QUEUED")));
+        verify(employeeService, never()).saveEmployee(ArgumentMatchers.any(Employee.class));
+    }
+
+    // JUnit test for async create employee REST API - preference among others
+    @DisplayName("JUnit test for async create employee REST API - preference among others")
+    @Test
+    public void givenRespondAsyncAmongOtherPreferences_whenCreateEmployee_thenReturnAccepted() throws Exception {
+
+        //given - precondition or setup
+        given(employeeIngestionQueue.submit(ArgumentMatchers.any(Employee.class)))
+                .willReturn(EmployeeIngestionStatus.queued("abc", employee1.getEmail()));
+        String body = objectMapper.writeValueAsString(employee1);
+
+        //when - action or the behaviour that we are going test
+        ResultActions withWait = mockMvc.perform(post("/api/employees").header("Prefer", "respond-async, wait=5")
+                .contentType(MediaType.APPLICATION_JSON).content(body));
+        ResultActions withReturn = mockMvc.perform(post("/api/employees").header("Prefer", "return=minimal, Respond-Async")
+                .contentType(MediaType.APPLICATION_JSON).content(body));
+        ResultActions twoHeaders = mockMvc.perform(post("/api/employees").header("Prefer", "return=minimal")
+                .header("Prefer", "respond-async").contentType(MediaType.APPLICATION_JSON).content(body));
+
+        //then - verify the output
+        withWait.andExpect(status().isAccepted());
+        withReturn.andExpect(status().isAccepted());
+        twoHeaders.andExpect(status().isAccepted());
+        verify(employeeIngestionQueue, times(3)).submit(ArgumentMatchers.any(Employee.class));
+        verify(employeeService, never()).saveEmployee(ArgumentMatchers.any(Employee.class));
+    }
+
+    // JUnit test for async create employee REST API - queue full
+    @DisplayName("JUnit test for async create employee REST API - queue full")
+    @Test
+    public void givenFullIngestionQueue_whenCreateEmployeeAsync_thenReturnTooManyRequests() throws Exception {
+
+        //given - precondition or setup
+        given(employeeIngestionQueue.submit(ArgumentMatchers.any(Employee.class)))
+                .willThrow(new TooManyRequestsException("The ingestion queue is full, retry later"));
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/employees").header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(employee1)));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    // JUnit test for get ingestion status REST API
+    @DisplayName("JUnit test for get ingestion status REST API")
+    @Test
+    public void givenTrackingId_whenGetIngestionStatus_thenReturnStatus() throws Exception {
+
+        //given - precondition or setup
+        given(employeeIngestionQueue.getStatus("abc"))
+                .willReturn(Optional.of(EmployeeIngestionStatus.created("abc", 1L, employee1.getEmail())));
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/ingestions/{trackingId}", "abc"));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state", is("CREATED")))
+                .andExpect(jsonPath("$.id", is(1)));
+    }
+
+    // JUnit test for get ingestion status REST API - unknown tracking id
+    @DisplayName("JUnit test for get ingestion status REST API - unknown tracking id")
+    @Test
+    public void givenUnknownTrackingId_whenGetIngestionStatus_thenReturnNotFound() throws Exception {
+
+        //given - precondition or setup
+        given(employeeIngestionQueue.getStatus("abc")).willReturn(Optional.empty());
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/ingestions/{trackingId}", "abc"));
+
+        //then - verify the output
+        response.andDo(print()).andExpect(status().isNotFound());
+    }
+
+    // JUnit test for bulk create employees REST API
+    @DisplayName("JUnit test for bulk create employees REST API")
+    @Test
+    public void givenEmployeeList_whenCreateEmployees_thenReturnResultPerEmployee() throws Exception {
+
+        //given - precondition or setup
+        given(employeeService.saveEmployees(ArgumentMatchers.anyList())).willReturn(List.of(
+                EmployeeBulkResult.created(0, employee1),
+                EmployeeBulkResult.failed(1, employee2.getEmail(), "Employee already exist with given email " + employee2.getEmail())));
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/employees/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(employee1, employee2))));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].id", is(employee1.getId().intValue())))
+                .andExpect(jsonPath("$[1].status", is("FAILED")))
+                .andExpect(jsonPath("$[1].email", is(employee2.getEmail())));
+    }
+
+    // JUnit test for bulk create employees REST API - too many employees
+    @DisplayName("JUnit test for bulk create employees REST API - too many employees")
+    @Test
+    public void givenTooManyEmployees_whenCreateEmployees_thenReturnBadRequest() throws Exception {
+
+        //given - precondition or setup
+        given(employeeService.saveEmployees(ArgumentMatchers.anyList())).willThrow(new InvalidRequestException("A bulk request accepts at most 1 employees"));
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/employees/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(employee1, employee2))));
+
+        //then - verify the output
+        response.andDo(print()).andExpect(status().isBadRequest());
+    }
+
+    // JUnit test for get all employees REST API - Smile
+    @DisplayName("JUnit test for get all employees REST API - Smile")
+    @Test
+    public void givenSmileAccept_whenGetAllEmployees_thenReturnSmileEncodedList() throws Exception {
+
+        //given - precondition or setup
+        List<EmployeeView> employeeList = List.of(view(employee1), view(employee2));
+        given(employeeService.getEmployeePage(null, null)).willReturn(new EmployeePage(employeeList, null));
+
+        //when - action or the behaviour that we are going test
+        MvcResult result = mockMvc.perform(get("/api/employees").accept(SMILE)).andReturn();
+
+        //then - verify the output
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getContentType()).isEqualTo(SMILE.toString());
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotNull();
+        List<EmployeeView> decoded = new SmileMapper().readValue(result.getResponse().getContentAsByteArray(),
+                new TypeReference<List<EmployeeView>>() {
+                });
+        assertThat(decoded).isEqualTo(employeeList);
+    }
+
     // JUnit test for get all employees REST API
     @DisplayName("JUnit test for get all employees REST API")
     @Test
     public void givenEmployeeList_whenGetAllEmployees_thenReturnEmployeeList() throws Exception {
 
         //given - precondition or setup
-        List<Employee> employeeList = new ArrayList<>();
-        employeeList.add(employee1);
-        employeeList.add(employee2);
-        given(employeeService.getAllEmployees()).willReturn(employeeList);
+        List<EmployeeView> employeeList = new ArrayList<>();
+        employeeList.add(view(employee1));
+        employeeList.add(view(employee2));
+        given(employeeService.getEmployeePage(null, null)).willReturn(new EmployeePage(employeeList, null));
 
         //when - action or the behaviour that we are going test
         ResultActions response = mockMvc.perform(get("/api/employees"));
@@ -92,6 +342,69 @@ public class EmployeeControllerTest {
         response.andExpect(status().isOk()).andExpect(jsonPath("$.size()", is(employeeList.size()))).andDo(print());
     }
 
+    // JUnit test for get employees page REST API
+    @DisplayName("JUnit test for get employees page REST API")
+    @Test
+    public void givenAfterAndLimit_whenGetAllEmployees_thenReturnPageWithNextCursor() throws Exception {
+
+        //given - precondition or setup
+        given(employeeService.getEmployeePage(1L, 1)).willReturn(new EmployeePage(List.of(view(employee2)), employee2.getId()));
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees").param("after", "1").param("limit", "1"));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(EmployeeController.NEXT_CURSOR_HEADER, employee2.getId().toString()))
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].email", is(employee2.getEmail())));
+    }
+
+    // JUnit test for get employees page REST API - not modified
+    @DisplayName("JUnit test for get employees page REST API - not modified")
+    @Test
+    public void givenMatchingIfNoneMatch_whenGetAllEmployees_thenReturnNotModified() throws Exception {
+
+        //given - precondition or setup
+        given(employeeService.getEmployeePage(null, null)).willReturn(new EmployeePage(List.of(view(employee1), view(employee2)), null));
+        String etag = mockMvc.perform(get("/api/employees")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees").header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    // JUnit test for export employees REST API
+    @DisplayName("JUnit test for export employees REST API")
+    @Test
+    public void givenEmployeeList_whenExportEmployees_thenStreamOneJsonLinePerEmployee() throws Exception {
+
+        //given - precondition or setup
+        willAnswer(invocation -> {
+            Consumer<EmployeeView> consumer = invocation.getArgument(0);
+            consumer.accept(view(employee1));
+            consumer.accept(view(employee2));
+            return null;
+        }).given(employeeService).exportEmployees(ArgumentMatchers.any());
+
+        //when - action or the behaviour that we are going test
+        MvcResult result = mockMvc.perform(get("/api/employees/export")).andExpect(request().asyncStarted()).andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(result));
+
+        //then - verify the output
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(employee1) + "\n"
+                        + objectMapper.writeValueAsString(employee2) + "\n"));
+    }
+
     // positive scenario - valid employee id
     // JUnit test for get employee REST API
     @DisplayName("JUnit test for get employee REST API")
@@ -99,7 +412,7 @@ public class EmployeeControllerTest {
     public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() throws Exception {
 
         //given - precondition or setup
-        given(employeeService.getEmployeeById(employee1.getId())).willReturn(Optional.of(employee1));
+        given(employeeService.getEmployeeViewById(employee1.getId())).willReturn(Optional.of(view(employee1)));
 
         //when - action or the behaviour that we are going test
         ResultActions response = mockMvc.perform(get("/api/employees/{id}", employee1.getId()));
@@ -112,7 +425,118 @@ public class EmployeeControllerTest {
                 .andExpect(status().isOk());
     }
 
+    // JUnit test for get employee REST API - malformed Accept header
+    @DisplayName("JUnit test for get employee REST API - malformed Accept header")
+    @Test
+    public void givenMalformedAccept_whenGetEmployeeById_thenReturnNotAcceptable() throws Exception {
+
+        //given - precondition or setup
+        given(employeeService.getEmployeeViewById(employee1.getId())).willReturn(Optional.of(view(employee1)));
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employee1.getId())
+                .header(HttpHeaders.ACCEPT, "application/json, text"));
+
+        //then - verify the output
+        response.andDo(print()).andExpect(status().isNotAcceptable());
+    }
+
+    // JUnit test for get employee REST API - ETag header
+    @DisplayName("JUnit test for get employee REST API - ETag header")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeById_thenReturnVersionETag() throws Exception {
+
+        //given - precondition or setup
+        employee1.setVersion(3L);
+        given(employeeService.getEmployeeViewById(employee1.getId())).willReturn(Optional.of(view(employee1)));
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employee1.getId()));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    // JUnit test for get employee REST API - not modified
+    @DisplayName("JUnit test for get employee REST API - not modified")
+    @Test
+    public void givenMatchingIfNoneMatch_whenGetEmployeeById_thenReturnNotModifiedWithoutLoadingEmployee() throws Exception {
+
+        //given - precondition or setup
+        given(employeeService.getEmployeeVersion(employee1.getId())).willReturn(Optional.of(3L));
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employee1.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+        verify(employeeService, never()).getEmployeeViewById(anyLong());
+    }
+
+    // JUnit test for get employee REST API - stale ETag
+    @DisplayName("JUnit test for get employee REST API - stale ETag")
+    @Test
+    public void givenStaleIfNoneMatch_whenGetEmployeeById_thenReturnEmployeeObject() throws Exception {
+
+        //given - precondition or setup
+        employee1.setVersion(4L);
+        given(employeeService.getEmployeeVersion(employee1.getId())).willReturn(Optional.of(4L));
+        given(employeeService.getEmployeeViewById(employee1.getId())).willReturn(Optional.of(view(employee1)));
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employee1.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.email", is(employee1.getEmail())));
+    }
+
     // negative scenario - invalid employee id
+    // JUnit test for search employees REST API
+    @DisplayName("JUnit test for search employees REST API")
+    @Test
+    public void givenQuery_whenSearchEmployees_thenReturnMatches() throws Exception {
+
+        //given - precondition or setup
+        given(employeeService.searchEmployees("ros", 5)).willReturn(List.of(view(employee1)));
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/search").param("q", "ros").param("limit", "5"));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].lastName", is(employee1.getLastName())));
+    }
+
+    // JUnit test for search employees REST API while the index is being built
+    @DisplayName("JUnit test for search employees REST API while the index is being built")
+    @Test
+    public void givenIndexNotBuilt_whenSearchEmployees_thenReturnServiceUnavailable() throws Exception {
+
+        //given - precondition or setup
+        given(employeeService.searchEmployees("ros", null))
+                .willThrow(new ServiceUnavailableException("The search index is still being built, retry later"));
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/search").param("q", "ros"));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
     // JUnit test for get employee by id REST API
     @DisplayName("JUnit test for get employee by id REST API")
     @Test
@@ -120,7 +544,7 @@ public class EmployeeControllerTest {
 
         //given - precondition or setup
         long invalidId = 5L;
-        given(employeeService.getEmployeeById(invalidId)).willReturn(Optional.empty());
+        given(employeeService.getEmployeeViewById(invalidId)).willReturn(Optional.empty());
 
         //when - action or the behaviour that we are going test
         ResultActions response = mockMvc.perform(get("/api/employees/{id}", invalidId));
@@ -166,6 +590,66 @@ public class EmployeeControllerTest {
         response.andDo(print()).andExpect(status().isNotFound());
     }
 
+    // JUnit test for patch employee REST API - positive scenario
+    @DisplayName("JUnit test for patch employee REST API - positive scenario")
+    @Test
+    public void givenEmployeePatchAndIfMatch_whenPatchEmployee_thenReturnNoContentWithNextETag() throws Exception {
+
+        //given - precondition or setup
+        EmployeePatch patch = new EmployeePatch("John", null, null);
+        willDoNothing().given(employeeService).patchEmployee(1L, patch, 3L);
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(patch("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(patch)));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+        verify(employeeService).patchEmployee(1L, patch, 3L);
+        verify(employeeService, never()).getEmployeeById(anyLong());
+    }
+
+    // JUnit test for patch employee REST API - negative scenario
+    @DisplayName("JUnit test for patch employee REST API - negative scenario")
+    @Test
+    public void givenMissingEmployee_whenPatchEmployee_thenReturnNotFound() throws Exception {
+
+        //given - precondition or setup
+        EmployeePatch patch = new EmployeePatch(null, null, "john@example.com");
+        willThrow(new ResourceNotFoundException("Employee not found with given id 1"))
+                .given(employeeService).patchEmployee(1L, patch, null);
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(patch("/api/employees/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(patch)));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    // JUnit test for patch employee REST API - weak If-Match
+    @DisplayName("JUnit test for patch employee REST API - weak If-Match")
+    @Test
+    public void givenWeakIfMatch_whenPatchEmployee_thenReturnPreconditionFailed() throws Exception {
+
+        //given - precondition or setup
+        EmployeePatch patch = new EmployeePatch("John", null, null);
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(patch("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(patch)));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isPreconditionFailed());
+        verify(employeeService, never()).patchEmployee(anyLong(), any(), any());
+    }
+
     // JUnit test for delete employee REST API
     @DisplayName("JUnit test for delete employee REST API")
     @Test
@@ -182,4 +666,42 @@ public class EmployeeControllerTest {
 
     }
 
+    // JUnit test for delete employee REST API - negative scenario
+    @DisplayName("JUnit test for delete employee REST API - negative scenario")
+    @Test
+    public void givenMissingEmployeeId_whenDeleteEmployee_thenReturnNotFound() throws Exception {
+
+        //given - precondition or setup
+        willThrow(new ResourceNotFoundException("Employee not found with given id 5"))
+                .given(employeeService).deleteEmployee(5L);
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(delete("/api/employees/{id}", 5L));
+
+        //then - verify the output
+        response.andDo(print()).andExpect(status().isNotFound());
+    }
+
+    // JUnit test for bulk delete employees REST API
+    @DisplayName("JUnit test for bulk delete employees REST API")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenReturnDeletedCount() throws Exception {
+
+        //given - precondition or setup
+        given(employeeService.deleteEmployees(List.of(1L, 2L))).willReturn(2);
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(delete("/api/employees").param("ids", "1,2"));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().string("2 employees deleted successfully"));
+    }
+
+    private static EmployeeView view(Employee employee) {
+        return new EmployeeView(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                employee.getVersion());
+    }
+
 }
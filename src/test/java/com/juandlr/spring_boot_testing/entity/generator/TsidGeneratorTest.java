@@ -0,0 +1,124 @@
+package com.juandlr.spring_boot_testing.entity.generator;
+
+import com.juandlr.spring_boot_testing.config.EmployeeProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TsidGeneratorTest {
+
+    // JUnit test for nextId method
+    @DisplayName("JUnit test for nextId method")
+    @Test
+    public void givenGenerator_whenNextId_thenReturnIncreasingPositiveIds(){
+
+        //given - precondition or setup
+        TsidGenerator generator = new TsidGenerator(7);
+
+        //when - action or the behaviour that we are going test
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        //then - verify the output
+        assertThat(ids).isSorted().doesNotHaveDuplicates().allMatch(id -> id > 0);
+        assertThat((ids.get(0) >> TsidGenerator.COUNTER_BITS) & TsidGenerator.MAX_NODE).isEqualTo(7);
+
+    }
+
+    // JUnit test for nextId method when the counter of one millisecond runs out
+    @DisplayName("JUnit test for nextId method when the counter of one millisecond runs out")
+    @Test
+    public void givenFrozenClock_whenCounterExhausted_thenWaitForNextMillisecond(){
+
+        //given - precondition or setup, the clock only moves once the generator starts spinning
+        long frozen = TsidGenerator.EPOCH + 1_000;
+        TsidGenerator generator = new TsidGenerator(1) {
+            private int calls;
+
+            @Override
+            long currentMillis() {
+                return calls++ < 4_097 ? frozen : frozen + 1;
+            }
+        };
+
+        //when - action or the behaviour that we are going test
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4_097; i++) {
+            ids.add(generator.nextId());
+        }
+
+        //then - verify the output
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(ids.get(4_096) >> (TsidGenerator.NODE_BITS + TsidGenerator.COUNTER_BITS)).isEqualTo(1_001);
+
+    }
+
+    // JUnit test for nextId method called from many threads
+    @DisplayName("JUnit test for nextId method called from many threads")
+    @Test
+    public void givenConcurrentCallers_whenNextId_thenNoDuplicates() throws Exception {
+
+        //given - precondition or setup
+        TsidGenerator generator = new TsidGenerator(3);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+
+        //when - action or the behaviour that we are going test
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        ids.add(generator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        //then - verify the output
+        assertThat(ids).hasSize(80_000);
+
+    }
+
+    // JUnit test for constructor with an invalid node
+    @DisplayName("JUnit test for constructor with an invalid node")
+    @Test
+    public void givenNodeOutOfRange_whenCreateGenerator_thenThrowsException(){
+
+        //when - action or the behaviour that we are going test
+        assertThrows(IllegalArgumentException.class, () -> new TsidGenerator(TsidGenerator.MAX_NODE + 1));
+
+    }
+
+    // JUnit test for requireNode method without a configured node
+    @DisplayName("JUnit test for requireNode method without a configured node")
+    @Test
+    public void givenNoNode_whenRequireNode_thenThrowsException(){
+
+        //given - precondition or setup
+        EmployeeProperties.Id id = new EmployeeProperties().getId();
+
+        //when - action or the behaviour that we are going test
+        IllegalStateException exception = assertThrows(IllegalStateException.class, id::requireNode);
+
+        //then - verify the output
+        assertThat(exception).hasMessageContaining("employees.id.node");
+        id.setNode(5);
+        assertThat(id.requireNode()).isEqualTo(5);
+
+    }
+}
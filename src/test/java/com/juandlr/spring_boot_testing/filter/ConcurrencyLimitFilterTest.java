@@ -0,0 +1,100 @@
+package com.juandlr.spring_boot_testing.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrencyLimitFilterTest {
+
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10), new ObjectMapper());
+    }
+
+    // JUnit test for a request within the limit
+    @DisplayName("JUnit test for a request within the limit")
+    @Test
+    public void givenFreePermit_whenDoFilter_thenRequestPassesAndPermitIsReturned() throws Exception {
+
+        //given - precondition or setup
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        //when - action or the behaviour that we are going test
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), response, chain);
+
+        //then - verify the output
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    // JUnit test for a request above the limit
+    @DisplayName("JUnit test for a request above the limit")
+    @Test
+    public void givenNoFreePermit_whenDoFilter_thenReturnServiceUnavailable() throws Exception {
+
+        //given - precondition or setup, the first request keeps its permit while the second one arrives
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain nested = new MockFilterChain();
+        MockFilterChain blocking = new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+            @Override
+            protected void service(jakarta.servlet.http.HttpServletRequest req, jakarta.servlet.http.HttpServletResponse resp) {
+                try {
+                    filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), rejected, nested);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+
+        //when - action or the behaviour that we are going test
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), new MockHttpServletResponse(), blocking);
+
+        //then - verify the output
+        assertThat(nested.getRequest()).isNull();
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    // JUnit test for an async request
+    @DisplayName("JUnit test for an async request")
+    @Test
+    public void givenAsyncRequest_whenDoFilter_thenPermitIsHeldUntilComplete() throws Exception {
+
+        //given - precondition or setup
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/export");
+        request.setAsyncSupported(true);
+        AtomicReference<AsyncContext> asyncContext = new AtomicReference<>();
+        MockFilterChain chain = new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+            @Override
+            protected void service(jakarta.servlet.http.HttpServletRequest req, jakarta.servlet.http.HttpServletResponse resp) {
+                asyncContext.set(req.startAsync());
+            }
+        });
+
+        //when - action or the behaviour that we are going test
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        int permitsWhileStreaming = filter.availablePermits();
+        ((MockAsyncContext) asyncContext.get()).complete();
+
+        //then - verify the output
+        assertThat(permitsWhileStreaming).isZero();
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.juandlr.spring_boot_testing.filter;
+
+import com.juandlr.spring_boot_testing.config.EmployeeProperties;
+import com.juandlr.spring_boot_testing.monitoring.RequestSqlTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlStatementBudgetFilterTest {
+
+    private EmployeeProperties.Sql sql;
+    private MeterRegistry meterRegistry;
+    private SqlStatementBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        sql = new EmployeeProperties().getSql();
+        sql.setStatementBudget(2);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new SqlStatementBudgetFilter(sql, meterRegistry);
+    }
+
+    // JUnit test for a request within its statement budget
+    @DisplayName("JUnit test for a request within its statement budget")
+    @Test
+    public void givenRequestWithinBudget_whenDoFilter_thenStatementsAndDbTimeAreRecorded() throws Exception {
+
+        //given - precondition or setup
+        MockHttpServletRequest request = request("/api/employees/{id}");
+
+        //when - action or the behaviour that we are going test
+        filter.doFilter(request, new MockHttpServletResponse(), chainIssuing(2));
+
+        //then - verify the output
+        assertThat(meterRegistry.get(SqlStatementBudgetFilter.STATEMENTS_METRIC).tag("uri", "/api/employees/{id}").summary().totalAmount())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get(SqlStatementBudgetFilter.DB_TIME_METRIC).tag("uri", "/api/employees/{id}").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(10);
+        assertThat(meterRegistry.find(SqlStatementBudgetFilter.BUDGET_EXCEEDED_METRIC).counter()).isNull();
+    }
+
+    // JUnit test for a request over its statement budget
+    @DisplayName("JUnit test for a request over its statement budget")
+    @Test
+    public void givenRequestOverBudget_whenDoFilter_thenBudgetExceededCounterIncrements() throws Exception {
+
+        //given - precondition or setup
+        MockHttpServletRequest request = request("/api/employees/{id}");
+
+        //when - action or the behaviour that we are going test
+        filter.doFilter(request, new MockHttpServletResponse(), chainIssuing(3));
+
+        //then - verify the output
+        assertThat(meterRegistry.get(SqlStatementBudgetFilter.BUDGET_EXCEEDED_METRIC).tag("uri", "/api/employees/{id}").counter().count())
+                .isEqualTo(1);
+    }
+
+    // JUnit test for an endpoint budget override
+    @DisplayName("JUnit test for an endpoint budget override")
+    @Test
+    public void givenEndpointOverride_whenDoFilter_thenOverrideIsTheBudget() throws Exception {
+
+        //given - precondition or setup
+        sql.getEndpointBudgets().put("/api/employees/bulk", 25);
+        MockHttpServletRequest request = request("/api/employees/bulk");
+
+        //when - action or the behaviour that we are going test
+        filter.doFilter(request, new MockHttpServletResponse(), chainIssuing(21));
+
+        //then - verify the output
+        assertThat(meterRegistry.find(SqlStatementBudgetFilter.BUDGET_EXCEEDED_METRIC).counter()).isNull();
+    }
+
+    private static MockHttpServletRequest request(String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+
+    // stands in for the datasource proxy, each statement takes 5 ms
+    private static MockFilterChain chainIssuing(int statements) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                for (int i = 0; i < statements; i++) {
+                    RequestSqlTracker.record(5);
+                }
+            }
+        });
+    }
+}
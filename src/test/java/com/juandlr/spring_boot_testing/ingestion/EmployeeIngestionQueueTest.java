@@ -0,0 +1,144 @@
+package com.juandlr.spring_boot_testing.ingestion;
+
+import com.juandlr.spring_boot_testing.config.EmployeeProperties;
+import com.juandlr.spring_boot_testing.config.MetricsConfig;
+import com.juandlr.spring_boot_testing.dto.EmployeeBulkResult;
+import com.juandlr.spring_boot_testing.dto.EmployeeIngestionStatus;
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.exception.ResourceAlreadyExistsException;
+import com.juandlr.spring_boot_testing.exception.TooManyRequestsException;
+import com.juandlr.spring_boot_testing.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeIngestionQueueTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private MeterRegistry meterRegistry;
+
+    private EmployeeIngestionQueue ingestionQueue;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeProperties employeeProperties = new EmployeeProperties();
+        employeeProperties.getIngestion().setQueueCapacity(2);
+        meterRegistry = new SimpleMeterRegistry();
+        ingestionQueue = new EmployeeIngestionQueue(employeeService, employeeProperties, meterRegistry);
+    }
+
+    // JUnit test for submit method
+    @DisplayName("JUnit test for submit method")
+    @Test
+    public void givenEmployee_whenSubmit_thenReturnQueuedStatus(){
+
+        //given - precondition or setup
+        Employee employee = employee("juan@example.com");
+
+        //when - action or the behaviour that we are going test
+        EmployeeIngestionStatus status = ingestionQueue.submit(employee);
+
+        //then - verify the output
+        assertThat(status.state()).isEqualTo(EmployeeIngestionStatus.State.QUEUED);
+        assertThat(ingestionQueue.getStatus(status.trackingId())).contains(status);
+        assertThat(meterRegistry.get(MetricsConfig.INGESTION_QUEUE_GAUGE).gauge().value()).isEqualTo(1);
+    }
+
+    // JUnit test for submit method which throws exception
+    @DisplayName("JUnit test for submit method which throws exception")
+    @Test
+    public void givenFullQueue_whenSubmit_thenThrowsTooManyRequestsException(){
+
+        //given - precondition or setup
+        ingestionQueue.submit(employee("juan@example.com"));
+        ingestionQueue.submit(employee("rodrigo@example.com"));
+
+        //when - action or the behaviour that we are going test
+        assertThrows(TooManyRequestsException.class, () -> {
+            ingestionQueue.submit(employee("marco@example.com"));
+        });
+
+        //then - verify the output
+        assertThat(meterRegistry.get(MetricsConfig.INGESTION_REJECTED_COUNTER).counter().count()).isEqualTo(1);
+    }
+
+    // JUnit test for drain method
+    @DisplayName("JUnit test for drain method")
+    @Test
+    public void givenQueuedEmployees_whenDrain_thenWriteOneBatchAndRecordResults() throws InterruptedException {
+
+        //given - precondition or setup
+        EmployeeIngestionStatus first = ingestionQueue.submit(employee("juan@example.com"));
+        EmployeeIngestionStatus second = ingestionQueue.submit(employee("rodrigo@example.com"));
+        given(employeeService.saveEmployees(anyList())).willReturn(List.of(
+                new EmployeeBulkResult(0, EmployeeBulkResult.Status.CREATED, 1L, "juan@example.com", null),
+                EmployeeBulkResult.failed(1, "rodrigo@example.com", "Employee already exist with given email rodrigo@example.com")));
+
+        //when - action or the behaviour that we are going test
+        int drained = ingestionQueue.drain(0, TimeUnit.MILLISECONDS);
+
+        //then - verify the output
+        assertThat(drained).isEqualTo(2);
+        verify(employeeService, times(1)).saveEmployees(anyList());
+        assertThat(ingestionQueue.getStatus(first.trackingId()))
+                .contains(EmployeeIngestionStatus.created(first.trackingId(), 1L, "juan@example.com"));
+        assertThat(ingestionQueue.getStatus(second.trackingId())).get()
+                .extracting(EmployeeIngestionStatus::state).isEqualTo(EmployeeIngestionStatus.State.FAILED);
+    }
+
+    // JUnit test for drain method when the batch fails
+    @DisplayName("JUnit test for drain method when the batch fails")
+    @Test
+    public void givenFailingBatch_whenDrain_thenWriteOneByOneAndFailOnlyTheConflict() throws InterruptedException {
+
+        //given - precondition or setup
+        EmployeeIngestionStatus first = ingestionQueue.submit(employee("juan@example.com"));
+        EmployeeIngestionStatus second = ingestionQueue.submit(employee("rodrigo@example.com"));
+        given(employeeService.saveEmployees(anyList())).willThrow(new DataIntegrityViolationException("uk_employees_email"));
+        given(employeeService.saveEmployee(any(Employee.class))).willAnswer(invocation -> {
+            Employee employee = invocation.getArgument(0);
+            if (employee.getEmail().equals("rodrigo@example.com")) {
+                throw new ResourceAlreadyExistsException("Employee already exist with given email rodrigo@example.com");
+            }
+            employee.setId(1L);
+            return employee;
+        });
+
+        //when - action or the behaviour that we are going test
+        ingestionQueue.drain(0, TimeUnit.MILLISECONDS);
+
+        //then - verify the output
+        assertThat(ingestionQueue.getStatus(first.trackingId()))
+                .contains(EmployeeIngestionStatus.created(first.trackingId(), 1L, "juan@example.com"));
+        assertThat(ingestionQueue.getStatus(second.trackingId())).contains(EmployeeIngestionStatus.failed(
+                second.trackingId(), "rodrigo@example.com", "Employee already exist with given email rodrigo@example.com"));
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder()
+                .firstName("Juan")
+                .lastName("de la Rosa")
+                .email(email)
+                .build();
+    }
+}
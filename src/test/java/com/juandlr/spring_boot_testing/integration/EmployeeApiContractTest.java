@@ -0,0 +1,297 @@
+package com.juandlr.spring_boot_testing.integration;
+
+import com.juandlr.spring_boot_testing.controller.EmployeeController;
+import com.juandlr.spring_boot_testing.dto.EmployeeBulkResult;
+import com.juandlr.spring_boot_testing.dto.EmployeePatch;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
+import com.juandlr.spring_boot_testing.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the /api/employees contract, run against the servlet/JPA stack and the WebFlux/R2DBC stack
+public abstract class EmployeeApiContractTest {
+
+    private WebTestClient webTestClient;
+
+    protected abstract WebTestClient webTestClient();
+
+    protected abstract void deleteAllEmployees();
+
+    @BeforeEach
+    void setUpContract() {
+        deleteAllEmployees();
+        webTestClient = webTestClient();
+    }
+
+    // JUnit test for create employee contract
+    @DisplayName("JUnit test for create employee contract")
+    @Test
+    public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee(){
+
+        //given - precondition or setup
+        Employee employee = employee("juan@example.com");
+
+        //when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees").bodyValue(employee).exchange();
+
+        //then - verify the output
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNotEmpty()
+                .jsonPath("$.email").isEqualTo("juan@example.com")
+                .jsonPath("$.version").isEqualTo(0);
+    }
+
+    // JUnit test for create employee contract (duplicate email)
+    @DisplayName("JUnit test for create employee contract (duplicate email)")
+    @Test
+    public void givenExistingEmail_whenCreateEmployee_thenReturnConflict(){
+
+        //given - precondition or setup
+        create("juan@example.com");
+
+        //when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .bodyValue(employee("juan@example.com")).exchange();
+
+        //then - verify the output
+        response.expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody().jsonPath("$.detail").isEqualTo("Employee already exist with given email juan@example.com");
+    }
+
+    // JUnit test for bulk create contract
+    @DisplayName("JUnit test for bulk create contract")
+    @Test
+    public void givenRepeatedEmail_whenCreateEmployees_thenReportOneResultPerItem(){
+
+        //given - precondition or setup
+        List<Employee> employees = List.of(employee("juan@example.com"), employee("juan@example.com"));
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeBulkResult> results = webTestClient.post().uri("/api/employees/bulk").bodyValue(employees).exchange()
+                .expectStatus().isOk()
+                .expectBodyList(EmployeeBulkResult.class).returnResult().getResponseBody();
+
+        //then - verify the output
+        assertThat(results).extracting(EmployeeBulkResult::status)
+                .containsExactly(EmployeeBulkResult.Status.CREATED, EmployeeBulkResult.Status.FAILED);
+    }
+
+    // JUnit test for get employees page contract
+    @DisplayName("JUnit test for get employees page contract")
+    @Test
+    public void givenThreeEmployees_whenGetFirstPageOfTwo_thenReturnNextCursorAndETag(){
+
+        //given - precondition or setup
+        EmployeeView first = create("juan@example.com");
+        EmployeeView second = create("rodrigo@example.com");
+        create("marco@example.com");
+
+        //when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees?limit=2").exchange();
+
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectHeader().valueEquals(EmployeeController.NEXT_CURSOR_HEADER, String.valueOf(second.id()))
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(first.id());
+    }
+
+    // JUnit test for get employees page contract - not modified
+    @DisplayName("JUnit test for get employees page contract - not modified")
+    @Test
+    public void givenMatchingIfNoneMatch_whenGetEmployeesPage_thenReturnNotModified(){
+
+        //given - precondition or setup
+        create("juan@example.com");
+        String etag = webTestClient.get().uri("/api/employees").exchange()
+                .returnResult(String.class).getResponseHeaders().getETag();
+
+        //when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, etag).exchange();
+
+        //then - verify the output
+        response.expectStatus().isNotModified();
+    }
+
+    // JUnit test for export employees contract
+    @DisplayName("JUnit test for export employees contract")
+    @Test
+    public void givenEmployees_whenExportEmployees_thenStreamOneJsonLinePerEmployee(){
+
+        //given - precondition or setup
+        create("juan@example.com");
+        create("rodrigo@example.com");
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeView> exported = webTestClient.get().uri("/api/employees/export").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(EmployeeView.class).getResponseBody().collectList().block();
+
+        //then - verify the output
+        assertThat(exported).extracting(EmployeeView::email).containsExactly("juan@example.com", "rodrigo@example.com");
+    }
+
+    // JUnit test for get employee by id contract
+    @DisplayName("JUnit test for get employee by id contract")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeWithVersionETag(){
+
+        //given - precondition or setup
+        EmployeeView employee = create("juan@example.com");
+
+        //when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", employee.id()).exchange();
+
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody().jsonPath("$.email").isEqualTo("juan@example.com");
+    }
+
+    // JUnit test for get employee by id contract - not modified
+    @DisplayName("JUnit test for get employee by id contract - not modified")
+    @Test
+    public void givenMatchingIfNoneMatch_whenGetEmployeeById_thenReturnNotModified(){
+
+        //given - precondition or setup
+        EmployeeView employee = create("juan@example.com");
+
+        //when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", employee.id())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"").exchange();
+
+        //then - verify the output
+        response.expectStatus().isNotModified();
+    }
+
+    // JUnit test for get employee by id contract (unknown id)
+    @DisplayName("JUnit test for get employee by id contract (unknown id)")
+    @Test
+    public void givenUnknownId_whenGetEmployeeById_thenReturnNotFound(){
+
+        //given - precondition or setup
+        long unknownId = 42L;
+
+        //when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", unknownId).exchange();
+
+        //then - verify the output
+        response.expectStatus().isNotFound();
+    }
+
+    // JUnit test for update employee contract
+    @DisplayName("JUnit test for update employee contract")
+    @Test
+    public void givenUpdatedEmployee_whenUpdateEmployee_thenReturnUpdatedEmployee(){
+
+        //given - precondition or setup
+        EmployeeView employee = create("juan@example.com");
+        Employee updated = employee("john@example.com");
+
+        //when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", employee.id())
+                .bodyValue(updated).exchange();
+
+        //then - verify the output
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("john@example.com")
+                .jsonPath("$.version").isEqualTo(1);
+    }
+
+    // JUnit test for patch employee contract
+    @DisplayName("JUnit test for patch employee contract")
+    @Test
+    public void givenCurrentIfMatch_whenPatchEmployee_thenReturnNoContentWithNextVersion(){
+
+        //given - precondition or setup
+        EmployeeView employee = create("juan@example.com");
+
+        //when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.patch().uri("/api/employees/{id}", employee.id())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(new EmployeePatch("John", null, null)).exchange();
+
+        //then - verify the output
+        response.expectStatus().isNoContent().expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+        webTestClient.get().uri("/api/employees/{id}", employee.id()).exchange()
+                .expectBody().jsonPath("$.firstName").isEqualTo("John");
+    }
+
+    // JUnit test for patch employee contract (stale version)
+    @DisplayName("JUnit test for patch employee contract (stale version)")
+    @Test
+    public void givenStaleIfMatch_whenPatchEmployee_thenReturnPreconditionFailed(){
+
+        //given - precondition or setup
+        EmployeeView employee = create("juan@example.com");
+
+        //when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.patch().uri("/api/employees/{id}", employee.id())
+                .header(HttpHeaders.IF_MATCH, "\"7\"")
+                .bodyValue(new EmployeePatch("John", null, null)).exchange();
+
+        //then - verify the output
+        response.expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // JUnit test for delete employees contract
+    @DisplayName("JUnit test for delete employees contract")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenReturnDeletedCount(){
+
+        //given - precondition or setup
+        EmployeeView first = create("juan@example.com");
+        EmployeeView second = create("rodrigo@example.com");
+
+        //when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.delete()
+                .uri("/api/employees?ids={first}&ids={second}", first.id(), second.id()).exchange();
+
+        //then - verify the output
+        response.expectStatus().isOk().expectBody(String.class).isEqualTo("2 employees deleted successfully");
+    }
+
+    // JUnit test for delete employee contract (unknown id)
+    @DisplayName("JUnit test for delete employee contract (unknown id)")
+    @Test
+    public void givenUnknownId_whenDeleteEmployee_thenReturnNotFound(){
+
+        //given - precondition or setup
+        long unknownId = 42L;
+
+        //when - action or the behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.delete().uri("/api/employees/{id}", unknownId).exchange();
+
+        //then - verify the output
+        response.expectStatus().isNotFound();
+    }
+
+    protected EmployeeView create(String email) {
+        return webTestClient.post().uri("/api/employees").bodyValue(employee(email)).exchange()
+                .expectStatus().isCreated()
+                .expectBody(EmployeeView.class).returnResult().getResponseBody();
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder()
+                .firstName("Juan")
+                .lastName("de la Rosa")
+                .email(email)
+                .build();
+    }
+}
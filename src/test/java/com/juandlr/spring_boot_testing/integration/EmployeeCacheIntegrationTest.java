@@ -0,0 +1,149 @@
+package com.juandlr.spring_boot_testing.integration;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.juandlr.spring_boot_testing.config.CacheConfig;
+import com.juandlr.spring_boot_testing.controller.EmployeeResponseCache;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
+import com.juandlr.spring_boot_testing.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+public class EmployeeCacheIntegrationTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EmployeeResponseCache employeeResponseCache;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        employee = employeeRepository.save(Employee.builder()
+                .firstName("Juan")
+                .lastName("de la Rosa")
+                .email("juan@example.com")
+                .build());
+    }
+
+    // JUnit integration test for getEmployeeViewById read-through cache
+    @DisplayName("JUnit integration test for getEmployeeViewById read-through cache")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeViewByIdTwice_thenSecondCallIsCacheHit(){
+
+        //given - precondition or setup
+        CacheStats before = stats(CacheConfig.EMPLOYEES);
+
+        //when - action or the behaviour that we are going test
+        employeeService.getEmployeeViewById(employee.getId());
+        employeeService.getEmployeeViewById(employee.getId());
+
+        //then - verify the output
+        CacheStats after = stats(CacheConfig.EMPLOYEES);
+        assertThat(after.missCount() - before.missCount()).isEqualTo(1);
+        assertThat(after.hitCount() - before.hitCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CacheConfig.EMPLOYEES).tag("result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    // JUnit integration test for updateEmployee cache eviction
+    @DisplayName("JUnit integration test for updateEmployee cache eviction")
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployee_thenNextReadSeesNewValues(){
+
+        //given - precondition or setup
+        employeeService.getEmployeeViewById(employee.getId());
+
+        //when - action or the behaviour that we are going test
+        Employee loaded = employeeService.getEmployeeById(employee.getId()).orElseThrow();
+        loaded.setFirstName("John");
+        loaded.setEmail("john@example.com");
+        employeeService.updateEmployee(loaded);
+
+        //then - verify the output
+        assertThat(employeeService.getEmployeeViewById(employee.getId())).get()
+                .extracting(EmployeeView::firstName).isEqualTo("John");
+    }
+
+    // JUnit integration test for deleteEmployee cache eviction
+    @DisplayName("JUnit integration test for deleteEmployee cache eviction")
+    @Test
+    public void givenCachedEmployee_whenDeleteEmployee_thenEntriesAreEvicted(){
+
+        //given - precondition or setup
+        employeeService.getEmployeeViewById(employee.getId());
+
+        //when - action or the behaviour that we are going test
+        employeeService.deleteEmployee(employee.getId());
+
+        //then - verify the output
+        assertThat(employeeService.getEmployeeViewById(employee.getId())).isEmpty();
+    }
+
+    // JUnit integration test for the encoded response cache
+    @DisplayName("JUnit integration test for the encoded response cache")
+    @Test
+    public void givenEncodedEmployee_whenUpdateEmployee_thenBytesAreEvictedAndReencoded(){
+
+        //given - precondition or setup
+        EmployeeView view = employeeService.getEmployeeViewById(employee.getId()).orElseThrow();
+        byte[] encoded = employeeResponseCache.json(view);
+
+        //when - action or the behaviour that we are going test
+        byte[] cached = employeeResponseCache.json(view);
+        Employee loaded = employeeService.getEmployeeById(employee.getId()).orElseThrow();
+        loaded.setFirstName("John");
+        employeeService.updateEmployee(loaded);
+
+        //then - verify the output
+        assertThat(cached).isSameAs(encoded);
+        assertThat(cacheManager.getCache(CacheConfig.EMPLOYEE_RESPONSES).get(employee.getId())).isNull();
+        EmployeeView updated = employeeService.getEmployeeViewById(employee.getId()).orElseThrow();
+        assertThat(new String(employeeResponseCache.json(updated))).contains("\"firstName\":\"John\"").contains("\"version\":1");
+    }
+
+    // JUnit integration test for the encoded response cache with a stale version
+    @DisplayName("JUnit integration test for the encoded response cache with a stale version")
+    @Test
+    public void givenBytesOfOlderVersion_whenJson_thenReencodeCurrentVersion(){
+
+        //given - precondition or setup
+        EmployeeView current = employeeService.getEmployeeViewById(employee.getId()).orElseThrow();
+        EmployeeView stale = new EmployeeView(current.id(), "Old", current.lastName(), current.email(), current.version() - 1);
+        employeeResponseCache.json(stale);
+
+        //when - action or the behaviour that we are going test
+        byte[] json = employeeResponseCache.json(current);
+
+        //then - verify the output
+        assertThat(new String(json)).contains("\"firstName\":\"Juan\"");
+    }
+
+    private CacheStats stats(String cacheName) {
+        return ((com.github.benmanes.caffeine.cache.Cache<?, ?>) cacheManager.getCache(cacheName).getNativeCache()).stats();
+    }
+}
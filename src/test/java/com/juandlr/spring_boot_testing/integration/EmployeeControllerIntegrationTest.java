@@ -1,8 +1,15 @@
 package com.juandlr.spring_boot_testing.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juandlr.spring_boot_testing.config.MetricsConfig;
+import com.juandlr.spring_boot_testing.dto.EmployeeIngestionStatus;
+import com.juandlr.spring_boot_testing.dto.EmployeePatch;
 import com.juandlr.spring_boot_testing.entity.Employee;
 import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
+import com.juandlr.spring_boot_testing.search.EmployeeSearchIndex;
+import com.juandlr.spring_boot_testing.support.StatementCount;
+import com.juandlr.spring_boot_testing.support.StatementCountConfig;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,27 +17,43 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
+@Import(StatementCountConfig.class)
 public class EmployeeControllerIntegrationTest {
 
+    private static final int CONCURRENT_REQUESTS = 8;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -40,6 +63,12 @@ public class EmployeeControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private Employee employee1, employee2;
 
     @BeforeEach
@@ -77,6 +106,43 @@ public class EmployeeControllerIntegrationTest {
                 .andExpect(jsonPath("$.email", is(employee1.getEmail())));
     }
 
+    // JUnit integration test for create employee REST API - duplicate email
+    @DisplayName("JUnit integration test for create employee REST API - duplicate email")
+    @Test
+    public void givenExistingEmail_whenCreateEmployee_thenReturnConflict() throws Exception {
+
+        //given - precondition or setup
+        employeeRepository.save(employee1);
+        Employee duplicated = Employee.builder().firstName("John").lastName("Doe").email(employee1.getEmail()).build();
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(duplicated)));
+
+        //then - verify the output
+        response.andDo(print()).andExpect(status().isConflict());
+    }
+
+    // JUnit integration test for async create employee REST API
+    @DisplayName("JUnit integration test for async create employee REST API")
+    @Test
+    public void givenRespondAsyncPreference_whenCreateEmployees_thenWriteBehindAndReportStatus() throws Exception {
+
+        //given - precondition or setup
+        employeeRepository.save(employee2);
+        Employee duplicate = Employee.builder().firstName("Rodrigo").lastName("Sarabia").email("rodrigo@example.com").build();
+
+        //when - action or the behaviour that we are going test
+        String created = enqueue(employee1);
+        String failed = enqueue(duplicate);
+
+        //then - verify the output
+        EmployeeIngestionStatus createdStatus = awaitIngestion(created);
+        assertThat(createdStatus.state()).isEqualTo(EmployeeIngestionStatus.State.CREATED);
+        assertThat(employeeRepository.findById(createdStatus.id())).isPresent();
+        assertThat(awaitIngestion(failed).state()).isEqualTo(EmployeeIngestionStatus.State.FAILED);
+    }
+
     // JUnit integration test for get all employees REST API
     @DisplayName("JUnit integration test for get all employees REST API")
     @Test
@@ -95,6 +161,53 @@ public class EmployeeControllerIntegrationTest {
         response.andExpect(status().isOk()).andExpect(jsonPath("$.size()", is(employeeList.size()))).andDo(print());
     }
 
+    // JUnit integration test for export employees REST API
+    @DisplayName("JUnit integration test for export employees REST API")
+    @Test
+    public void givenEmployeeList_whenExportEmployees_thenStreamOneJsonLinePerEmployee() throws Exception {
+
+        //given - precondition or setup
+        employeeRepository.saveAll(List.of(employee1, employee2));
+
+        //when - action or the behaviour that we are going test
+        MvcResult result = mockMvc.perform(get("/api/employees/export")).andExpect(request().asyncStarted()).andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(result));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(employee1) + "\n"
+                        + objectMapper.writeValueAsString(employee2) + "\n"));
+    }
+
+    // JUnit integration test for search employees REST API
+    @DisplayName("JUnit integration test for search employees REST API")
+    @Test
+    public void givenWritesThroughTheApi_whenSearchEmployees_thenIndexFollowsThem() throws Exception {
+
+        //given - precondition or setup, rows written around the service are only picked up by a rebuild
+        employeeRepository.save(employee2);
+        searchIndex.rebuild();
+        MvcResult created = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(employee1))).andReturn();
+        long id = objectMapper.readValue(created.getResponse().getContentAsString(), Employee.class).getId();
+        mockMvc.perform(patch("/api/employees/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new EmployeePatch(null, "Sarmiento", null))));
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/search").param("q", "SAR"));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].lastName", is("Sarabia")))
+                .andExpect(jsonPath("$[1].lastName", is("Sarmiento")));
+        mockMvc.perform(delete("/api/employees/{id}", id));
+        mockMvc.perform(get("/api/employees/search").param("q", "sarm")).andExpect(jsonPath("$.size()", is(0)));
+    }
+
     // positive scenario - valid employee id
     // JUnit integration test for get employee REST API
     @DisplayName("JUnit integration test for get employee REST API - positive scenario")
@@ -167,6 +280,75 @@ public class EmployeeControllerIntegrationTest {
         response.andDo(print()).andExpect(status().isNotFound());
     }
 
+    // JUnit integration test for update employee REST API - email taken by another employee
+    @DisplayName("JUnit integration test for update employee REST API - email taken by another employee")
+    @Test
+    public void givenEmailOfAnotherEmployee_whenUpdateEmployee_thenReturnConflict() throws Exception {
+
+        //given - precondition or setup
+        employeeRepository.save(employee1);
+        employeeRepository.save(employee2);
+        Employee updatedEmployee = Employee.builder().firstName("John").lastName("de la Rosa").email(employee2.getEmail()).build();
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(put("/api/employees/{id}", employee1.getId())
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        //then - verify the output
+        response.andDo(print()).andExpect(status().isConflict());
+    }
+
+    // JUnit integration test for conditional get employee REST API
+    @DisplayName("JUnit integration test for conditional get employee REST API")
+    @Test
+    public void givenETag_whenEmployeeIsUpdated_thenConditionalGetReturnsNewRepresentation() throws Exception {
+
+        //given - precondition or setup
+        Employee savedEmployee = employeeRepository.save(employee1);
+        String etag = mockMvc.perform(get("/api/employees/{id}", savedEmployee.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/employees/{id}", savedEmployee.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        //when - action or the behaviour that we are going test
+        mockMvc.perform(put("/api/employees/{id}", savedEmployee.getId())
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(employee2)));
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", savedEmployee.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (savedEmployee.getVersion() + 1) + "\""))
+                .andExpect(jsonPath("$.email", is(employee2.getEmail())));
+    }
+
+    // JUnit integration test for patch employee REST API
+    @DisplayName("JUnit integration test for patch employee REST API")
+    @Test
+    public void givenIfMatch_whenPatchEmployeeTwice_thenSecondPatchIsRejected() throws Exception {
+
+        //given - precondition or setup
+        Employee savedEmployee = employeeRepository.save(employee1);
+        String etag = "\"" + savedEmployee.getVersion() + "\"";
+        EmployeePatch patch = new EmployeePatch(null, "Sarabia", null);
+
+        //when - action or the behaviour that we are going test
+        ResultActions first = mockMvc.perform(patch("/api/employees/{id}", savedEmployee.getId())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(patch)));
+        ResultActions second = mockMvc.perform(patch("/api/employees/{id}", savedEmployee.getId())
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(patch)));
+
+        //then - verify the output
+        first.andExpect(status().isNoContent());
+        second.andDo(print()).andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/api/employees/{id}", savedEmployee.getId()))
+                .andExpect(jsonPath("$.firstName", is(employee1.getFirstName())))
+                .andExpect(jsonPath("$.lastName", is("Sarabia")));
+    }
+
     // JUnit integration test for delete employee REST API
     @DisplayName("JUnit integration test for delete employee REST API")
     @Test
@@ -182,4 +364,152 @@ public class EmployeeControllerIntegrationTest {
 
     }
 
+    // JUnit integration test for delete employee REST API - negative scenario
+    @DisplayName("JUnit integration test for delete employee REST API - negative scenario")
+    @Test
+    public void givenMissingEmployeeId_whenDeleteEmployee_thenReturn404() throws Exception {
+
+        //given - precondition or setup
+        long employeeId = 1L;
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(delete("/api/employees/{id}", employeeId));
+
+        //then - verify the output
+        response.andDo(print()).andExpect(status().isNotFound());
+    }
+
+    // JUnit integration test for bulk delete employees REST API
+    @DisplayName("JUnit integration test for bulk delete employees REST API")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenRemoveOnlyThoseEmployees() throws Exception {
+
+        //given - precondition or setup
+        Employee savedEmployee1 = employeeRepository.save(employee1);
+        Employee savedEmployee2 = employeeRepository.save(employee2);
+
+        //when - action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(delete("/api/employees")
+                .param("ids", savedEmployee1.getId() + "," + (savedEmployee2.getId() + 1)));
+
+        //then - verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().string("1 employees deleted successfully"));
+        mockMvc.perform(get("/api/employees/{id}", savedEmployee1.getId())).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/employees/{id}", savedEmployee2.getId())).andExpect(status().isOk());
+    }
+
+    // JUnit integration test for REST API statement budgets
+    @DisplayName("JUnit integration test for REST API statement budgets")
+    @Test
+    public void givenEmployee_whenCreateReadUpdatePatchDelete_thenEachRequestStaysWithinItsStatementBudget() throws Exception {
+
+        //given - precondition or setup | using setUp method to initialize employee object
+        EmployeePatch patch = new EmployeePatch("John", null, null);
+
+        //when - action or the behaviour that we are going test
+        //then - verify the output
+        StatementCount.reset();
+        MvcResult created = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(employee1))).andReturn();
+        StatementCount.assertStatements(0, 1, 0, 0);
+        long id = objectMapper.readValue(created.getResponse().getContentAsString(), Employee.class).getId();
+
+        StatementCount.reset();
+        mockMvc.perform(get("/api/employees/{id}", id)).andExpect(status().isOk());
+        StatementCount.assertStatements(1, 0, 0, 0);
+
+        StatementCount.reset();
+        mockMvc.perform(get("/api/employees/{id}", id)).andExpect(status().isOk());
+        StatementCount.assertStatements(0, 0, 0, 0);
+
+        StatementCount.reset();
+        mockMvc.perform(get("/api/employees").param("limit", "10")).andExpect(status().isOk());
+        StatementCount.assertStatements(1, 0, 0, 0);
+
+        StatementCount.reset();
+        mockMvc.perform(put("/api/employees/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(employee2))).andExpect(status().isOk());
+        StatementCount.assertStatements(1, 0, 1, 0);
+
+        StatementCount.reset();
+        mockMvc.perform(patch("/api/employees/{id}", id).header(HttpHeaders.IF_MATCH, "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(patch))).andExpect(status().isNoContent());
+        StatementCount.assertStatements(0, 0, 1, 0);
+
+        // without If-Match the search index reads the patched row back on its own thread
+        StatementCount.reset();
+        mockMvc.perform(patch("/api/employees/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(patch))).andExpect(status().isNoContent());
+        StatementCount.assertStatements(0, 0, 1, 0);
+
+        StatementCount.reset();
+        mockMvc.perform(delete("/api/employees/{id}", id)).andExpect(status().isOk());
+        StatementCount.assertStatements(0, 0, 0, 1);
+    }
+
+    // JUnit integration test for coalesced REST API reads
+    @DisplayName("JUnit integration test for coalesced REST API reads")
+    @Test
+    public void givenConcurrentRequestsForSameEmployee_whenGetEmployeeById_thenSendOneSelect() throws Exception {
+
+        //given - precondition or setup
+        long id = employeeRepository.save(employee1).getId();
+        double joinedBefore = coalescingCount("joined");
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        StatementCount.resetAllThreads();
+        // the first request's select is held until every other request has joined its load
+        StatementCount.holdStatements();
+
+        //when - action or the behaviour that we are going test
+        List<Future<MvcResult>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                results.add(executor.submit(() -> mockMvc.perform(get("/api/employees/{id}", id)).andReturn()));
+            }
+            Instant deadline = Instant.now().plus(Duration.ofSeconds(5));
+            while (coalescingCount("joined") - joinedBefore < CONCURRENT_REQUESTS - 1 && Instant.now().isBefore(deadline)) {
+                Thread.sleep(1);
+            }
+        } finally {
+            StatementCount.releaseStatements();
+            executor.shutdown();
+        }
+
+        //then - verify the output
+        for (Future<MvcResult> result : results) {
+            MvcResult response = result.get(5, TimeUnit.SECONDS);
+            assertThat(response.getResponse().getStatus()).isEqualTo(200);
+            assertThat(response.getResponse().getContentAsString()).contains("\"email\":\"juan@example.com\"");
+        }
+        StatementCount.assertStatementsOnAllThreads(1, 0, 0, 0);
+    }
+
+    private double coalescingCount(String outcome) {
+        return meterRegistry.get(MetricsConfig.COALESCING_COUNTER).tag("outcome", outcome).counter().count();
+    }
+
+    private String enqueue(Employee employee) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/employees").header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), EmployeeIngestionStatus.class).trackingId();
+    }
+
+    private EmployeeIngestionStatus awaitIngestion(String trackingId) throws Exception {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (true) {
+            MvcResult result = mockMvc.perform(get("/api/employees/ingestions/{trackingId}", trackingId))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            EmployeeIngestionStatus status = objectMapper.readValue(result.getResponse().getContentAsString(), EmployeeIngestionStatus.class);
+            if (status.state() != EmployeeIngestionStatus.State.QUEUED || Instant.now().isAfter(deadline)) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+    }
+
 }
@@ -0,0 +1,79 @@
+package com.juandlr.spring_boot_testing.integration;
+
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.exception.ResourceAlreadyExistsException;
+import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
+import com.juandlr.spring_boot_testing.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+public class EmployeeDuplicateEmailConcurrencyIntegrationTest {
+
+    private static final int WRITERS = 32;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+    }
+
+    // JUnit integration test for concurrent saveEmployee calls with the same email
+    @DisplayName("JUnit integration test for concurrent saveEmployee calls with the same email")
+    @Test
+    public void givenConcurrentWriters_whenSaveSameEmail_thenOnlyOneEmployeeIsCreated() throws Exception {
+
+        //given - precondition or setup
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Employee>> futures = new ArrayList<>();
+
+        //when - action or the behaviour that we are going test
+        try (ExecutorService executor = Executors.newFixedThreadPool(WRITERS)) {
+            for (int i = 0; i < WRITERS; i++) {
+                Employee employee = Employee.builder().firstName("Juan" + i).lastName("de la Rosa").email("juan@example.com").build();
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return employeeService.saveEmployee(employee);
+                }));
+            }
+            start.countDown();
+        }
+
+        //then - verify the output
+        int created = 0;
+        int conflicts = 0;
+        for (Future<Employee> future : futures) {
+            try {
+                future.get();
+                created++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(ResourceAlreadyExistsException.class);
+                conflicts++;
+            }
+        }
+        assertThat(created).isEqualTo(1);
+        assertThat(conflicts).isEqualTo(WRITERS - 1);
+        assertThat(employeeRepository.findAll()).hasSize(1);
+
+    }
+}
@@ -0,0 +1,105 @@
+package com.juandlr.spring_boot_testing.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juandlr.spring_boot_testing.config.MetricsConfig;
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("metrics")
+public class EmployeeMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        employee = employeeRepository.save(Employee.builder()
+                .firstName("Juan")
+                .lastName("de la Rosa")
+                .email("juan@example.com")
+                .build());
+    }
+
+    // JUnit integration test for endpoint and service timers
+    @DisplayName("JUnit integration test for endpoint and service timers")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeById_thenEndpointAndServiceTimersRecord() throws Exception {
+
+        //given - precondition or setup | using setUp method to save the employee
+
+        //when - action or the behaviour that we are going test
+        mockMvc.perform(get("/api/employees/{id}", employee.getId())).andExpect(status().isOk());
+
+        //then - verify the output
+        assertThat(meterRegistry.get("http.server.requests").tag("uri", "/api/employees/{id}").timer().count())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get(MetricsConfig.SERVICE_TIMER).tag("method", "getEmployeeViewById").timer().count())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    // JUnit integration test for duplicate email counter
+    @DisplayName("JUnit integration test for duplicate email counter")
+    @Test
+    public void givenExistingEmail_whenCreateEmployee_thenDuplicateCounterIncrements() throws Exception {
+
+        //given - precondition or setup
+        double before = meterRegistry.counter(MetricsConfig.DUPLICATE_EMAIL_COUNTER, "operation", "create").count();
+        Employee duplicate = Employee.builder().firstName("John").lastName("Rose").email(employee.getEmail()).build();
+
+        //when - action or the behaviour that we are going test
+        mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(duplicate))).andExpect(status().isConflict());
+
+        //then - verify the output
+        assertThat(meterRegistry.counter(MetricsConfig.DUPLICATE_EMAIL_COUNTER, "operation", "create").count())
+                .isEqualTo(before + 1);
+    }
+
+    // JUnit integration test for Hibernate metrics
+    @DisplayName("JUnit integration test for Hibernate metrics")
+    @Test
+    public void givenStatisticsEnabled_whenEmployeeIsLoaded_thenHibernateMetricsAreExported() throws Exception {
+
+        //given - precondition or setup
+        double loadsBefore = meterRegistry.get("hibernate.entities.loads").functionCounter().count();
+
+        //when - action or the behaviour that we are going test
+        employeeRepository.findById(employee.getId());
+
+        //then - verify the output
+        assertThat(meterRegistry.get("hibernate.statements").tag("status", "prepared").functionCounter().count()).isPositive();
+        assertThat(meterRegistry.get("hibernate.entities.loads").functionCounter().count()).isGreaterThan(loadsBefore);
+        assertThat(meterRegistry.find("hibernate.cache.query.plan").meters()).isNotEmpty();
+    }
+}
@@ -0,0 +1,199 @@
+package com.juandlr.spring_boot_testing.integration;
+
+import com.juandlr.spring_boot_testing.dto.EmployeePatch;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.service.EmployeeService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// two in-memory H2 databases stand in for the MySQL primary and its replica, nothing replicates between them
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "employees.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "employees.datasource.replica.username=sa",
+        "employees.datasource.replica.password="
+})
+public class EmployeeReadReplicaIntegrationTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table if not exists employees (id bigint primary key, first_name varchar(255) not null, "
+                + "last_name varchar(255) not null, email varchar(255) not null, version bigint)");
+        primary.update("delete from employees");
+        replica.update("delete from employees");
+        // every test runs as its own request, read-your-writes state does not leak between tests
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // JUnit integration test for read-only service methods going to the replica
+    @DisplayName("JUnit integration test for read-only service methods going to the replica")
+    @Test
+    public void givenEmployeeOnlyOnReplica_whenGetAllEmployees_thenReadsFromReplica(){
+
+        //given - precondition or setup
+        replica.update("insert into employees (id, first_name, last_name, email, version) values (1, 'Replica', 'Row', 'replica@example.com', 0)");
+        primary.update("insert into employees (id, first_name, last_name, email, version) values (2, 'Primary', 'Row', 'primary@example.com', 0)");
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeView> employees = employeeService.getAllEmployees();
+
+        //then - verify the output
+        assertThat(employees).extracting(EmployeeView::email).containsExactly("replica@example.com");
+    }
+
+    // JUnit integration test for writes going to the primary
+    @DisplayName("JUnit integration test for writes going to the primary")
+    @Test
+    public void givenNewEmployee_whenSaveEmployee_thenWrittenToPrimaryOnly(){
+
+        //given - precondition or setup
+        Employee employee = employee("juan@example.com");
+
+        //when - action or the behaviour that we are going test
+        employeeService.saveEmployee(employee);
+
+        //then - verify the output
+        assertThat(primary.queryForObject("select count(*) from employees", Integer.class)).isEqualTo(1);
+        assertThat(replica.queryForObject("select count(*) from employees", Integer.class)).isZero();
+    }
+
+    // JUnit integration test for read-your-writes within one request
+    @DisplayName("JUnit integration test for read-your-writes within one request")
+    @Test
+    public void givenRequestThatWrote_whenGetAllEmployees_thenReadsFromPrimary(){
+
+        //given - precondition or setup
+        employeeService.saveEmployee(employee("juan@example.com"));
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeView> employees = employeeService.getAllEmployees();
+
+        //then - verify the output
+        assertThat(employees).extracting(EmployeeView::email).containsExactly("juan@example.com");
+    }
+
+    // JUnit integration test for a request that has not written yet
+    @DisplayName("JUnit integration test for a request that has not written yet")
+    @Test
+    public void givenRequestWithoutWrites_whenGetAllEmployees_thenDoesNotSeePrimaryRows(){
+
+        //given - precondition or setup
+        primary.update("insert into employees (id, first_name, last_name, email, version) values (1, 'Juan', 'de la Rosa', 'juan@example.com', 0)");
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeView> employees = employeeService.getAllEmployees();
+
+        //then - verify the output
+        assertThat(employees).isEmpty();
+    }
+
+    // JUnit integration test for the entity read that feeds an update
+    @DisplayName("JUnit integration test for the entity read that feeds an update")
+    @Test
+    public void givenUpdateInAnotherRequest_whenGetEmployeeByIdAndUpdate_thenReadsFromPrimary(){
+
+        //given - precondition or setup, the replica has neither the new row nor its update yet
+        primary.update("insert into employees (id, first_name, last_name, email, version) values (1, 'Juan', 'de la Rosa', 'juan@example.com', 0)");
+        employeeService.patchEmployee(1L, new EmployeePatch(null, "Sarabia", null), 0L);
+
+        //when - action or the behaviour that we are going test
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        Employee employee = employeeService.getEmployeeById(1L).orElseThrow();
+        employee.setFirstName("John");
+        Employee updated = employeeService.updateEmployee(employee);
+
+        //then - verify the output
+        assertThat(updated.getVersion()).isEqualTo(2L);
+        assertThat(primary.queryForObject("select first_name || ' ' || last_name from employees where id = 1", String.class))
+                .isEqualTo("John Sarabia");
+    }
+
+    // JUnit integration test for the employee cache filled after a write
+    @DisplayName("JUnit integration test for the employee cache filled after a write")
+    @Test
+    public void givenWriteEvictedCache_whenAnotherRequestGetsEmployee_thenCacheIsFilledFromPrimary(){
+
+        //given - precondition or setup, the replica has not caught up with the patch yet
+        String row = "insert into employees (id, first_name, last_name, email, version) values (1, 'Juan', 'de la Rosa', 'juan@example.com', 0)";
+        primary.update(row);
+        replica.update(row);
+        employeeService.getEmployeeViewById(1L);
+        employeeService.patchEmployee(1L, new EmployeePatch(null, "Sarabia", null), 0L);
+
+        //when - action or the behaviour that we are going test
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        EmployeeView first = employeeService.getEmployeeViewById(1L).orElseThrow();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        EmployeeView cached = employeeService.getEmployeeViewById(1L).orElseThrow();
+
+        //then - verify the output
+        assertThat(first.lastName()).isEqualTo("Sarabia");
+        assertThat(cached).isEqualTo(new EmployeeView(1L, "Juan", "Sarabia", "juan@example.com", 1L));
+    }
+
+    // JUnit integration test for Hikari metrics of both pools
+    @DisplayName("JUnit integration test for Hikari metrics of both pools")
+    @Test
+    public void givenPrimaryAndReplicaPools_whenMetricsAreRead_thenEachPoolIsExported(){
+
+        //given - precondition or setup | using setUp method to open connections on both pools
+
+        //when - action or the behaviour that we are going test
+        double primaryMax = meterRegistry.get("hikaricp.connections.max").tag("pool", "primary").gauge().value();
+        double replicaMax = meterRegistry.get("hikaricp.connections.max").tag("pool", "replica").gauge().value();
+
+        //then - verify the output
+        assertThat(primaryMax).isEqualTo(primaryDataSource.getMaximumPoolSize());
+        assertThat(replicaMax).isEqualTo(replicaDataSource.getMaximumPoolSize());
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder()
+                .firstName("Juan")
+                .lastName("de la Rosa")
+                .email(email)
+                .build();
+    }
+}
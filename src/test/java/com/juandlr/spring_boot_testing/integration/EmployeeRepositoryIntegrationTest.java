@@ -1,5 +1,6 @@
 package com.juandlr.spring_boot_testing.integration;
 
+import com.juandlr.spring_boot_testing.config.JpaRepositoriesConfig;
 import com.juandlr.spring_boot_testing.entity.Employee;
 import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +18,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaRepositoriesConfig.class)
 public class EmployeeRepositoryIntegrationTest {
 
     @Autowired
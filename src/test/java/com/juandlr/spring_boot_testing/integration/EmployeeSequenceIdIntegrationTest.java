@@ -0,0 +1,60 @@
+package com.juandlr.spring_boot_testing.integration;
+
+import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"employees.id.strategy=sequence", "employees.id.increment-size=50"})
+@AutoConfigureTestDatabase
+public class EmployeeSequenceIdIntegrationTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+    }
+
+    // JUnit integration test for the pooled sequence id strategy
+    @DisplayName("JUnit integration test for the pooled sequence id strategy")
+    @Test
+    public void givenSequenceStrategy_whenSaveAll_thenAssignConsecutiveIdsFromPooledSequence(){
+
+        //given - precondition or setup
+        List<Employee> employees = List.of(
+                Employee.builder().firstName("Juan").lastName("de la Rosa").email("juan@example.com").build(),
+                Employee.builder().firstName("Rodrigo").lastName("Sarabia").email("rodrigo@example.com").build(),
+                Employee.builder().firstName("Marco").lastName("Ramirez").email("marco@example.com").build());
+
+        //when - action or the behaviour that we are going test
+        List<Employee> savedEmployees = employeeRepository.saveAll(employees);
+        Long sequenceValue = currentSequenceValue();
+        employeeRepository.save(Employee.builder().firstName("John").lastName("de la Rosa").email("john@example.com").build());
+
+        //then - verify the output
+        long firstId = savedEmployees.get(0).getId();
+        assertThat(savedEmployees).extracting(Employee::getId).containsExactly(firstId, firstId + 1, firstId + 2);
+        // the pooled optimizer reserved a block of ids, so the next insert did not touch the sequence
+        assertThat(currentSequenceValue()).isEqualTo(sequenceValue);
+
+    }
+
+    private Long currentSequenceValue() {
+        return jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where sequence_name = 'EMPLOYEES_SEQ'", Long.class);
+    }
+}
@@ -0,0 +1,75 @@
+package com.juandlr.spring_boot_testing.monitoring;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+public class SqlMonitoringListenerTest {
+
+    private JdbcDataSource h2;
+
+    @BeforeEach
+    void setUp() {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-monitoring;DB_CLOSE_DELAY=-1");
+    }
+
+    // JUnit test for slow query logging
+    @DisplayName("JUnit test for slow query logging")
+    @Test
+    public void givenSlowQuery_whenExecuted_thenLoggedWithMaskedParameters(CapturedOutput output) throws Exception {
+
+        //given - precondition or setup, every statement counts as slow with a zero threshold
+        DataSource dataSource = proxy(Duration.ZERO);
+
+        //when - action or the behaviour that we are going test
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT ? AS email")) {
+            statement.setString(1, "secret@example.com");
+            statement.executeQuery().close();
+        }
+
+        //then - verify the output
+        assertThat(output).contains("Slow query took").contains("SELECT ? AS email [1 parameters masked]");
+        assertThat(output).doesNotContain("secret@example.com");
+    }
+
+    // JUnit test for fast query logging
+    @DisplayName("JUnit test for fast query logging")
+    @Test
+    public void givenFastQuery_whenExecuted_thenNotLoggedButCountedForTheRequest(CapturedOutput output) throws Exception {
+
+        //given - precondition or setup
+        DataSource dataSource = proxy(Duration.ofMinutes(1));
+        RequestSqlTracker.start();
+
+        //when - action or the behaviour that we are going test
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            statement.executeQuery().close();
+            statement.executeQuery().close();
+        }
+        RequestSqlTracker.Stats stats = RequestSqlTracker.stop();
+
+        //then - verify the output
+        assertThat(output).doesNotContain("Slow query took");
+        assertThat(stats.statements()).isEqualTo(2);
+    }
+
+    private DataSource proxy(Duration slowQueryThreshold) {
+        return ProxyDataSourceBuilder.create(h2).listener(new SqlMonitoringListener(slowQueryThreshold)).build();
+    }
+}
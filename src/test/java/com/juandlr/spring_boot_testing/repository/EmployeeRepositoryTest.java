@@ -1,23 +1,37 @@
 package com.juandlr.spring_boot_testing.repository;
 
+import com.juandlr.spring_boot_testing.config.JpaRepositoriesConfig;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
 import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.support.StatementCount;
+import com.juandlr.spring_boot_testing.support.StatementCountConfig;
 import static org.assertj.core.api.Assertions.*;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @DataJpaTest
+@Import({JpaRepositoriesConfig.class, StatementCountConfig.class})
 public class EmployeeRepositoryTest {
 
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private TestEntityManager testEntityManager;
+
     private Employee employee;
 
     @BeforeEach
@@ -69,6 +83,67 @@ public class EmployeeRepositoryTest {
 
     }
 
+    // JUnit test for keyset page operation
+    @DisplayName("JUnit test for keyset page operation")
+    @Test
+    public void givenEmployeeList_whenFindByIdGreaterThan_thenReturnNextRowsInIdOrder(){
+
+        //given - precondition or setup | using setUp method to initialize employee object
+
+        Employee employee1 = Employee.builder()
+                .firstName("Marco")
+                .lastName("Ramirez")
+                .email("marco@example.com")
+                .build();
+
+        Employee employee2 = Employee.builder()
+                .firstName("Rodrigo")
+                .lastName("Sarabia")
+                .email("rodrigo@example.com")
+                .build();
+
+        employeeRepository.save(employee);
+        employeeRepository.save(employee1);
+        employeeRepository.save(employee2);
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeView> employeeList = employeeRepository.findViewsByIdGreaterThan(employee.getId(), Limit.of(1));
+
+        //then - verify the output
+        assertThat(employeeList).extracting(EmployeeView::email).containsExactly(employee1.getEmail());
+
+    }
+
+    // JUnit test for stream all employees operation
+    @DisplayName("JUnit test for stream all employees operation")
+    @Test
+    public void givenEmployeeList_whenStreamAll_thenReturnViewsWithoutManagedEntities(){
+
+        //given - precondition or setup | using setUp method to initialize employee object
+
+        Employee employee1 = Employee.builder()
+                .firstName("Marco")
+                .lastName("Ramirez")
+                .email("marco@example.com")
+                .build();
+
+        employeeRepository.save(employee);
+        employeeRepository.save(employee1);
+
+        //when - action or the behaviour that we are going test
+        testEntityManager.flush();
+        testEntityManager.clear();
+        List<EmployeeView> employeeList;
+        try (Stream<EmployeeView> employees = employeeRepository.streamAll(1)) {
+            employeeList = employees.toList();
+        }
+
+        //then - verify the output
+        assertThat(employeeList).extracting(EmployeeView::email).containsExactly(employee.getEmail(), employee1.getEmail());
+        assertThat(testEntityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+
+    }
+
     // JUnit test for get employee by id operation
     @DisplayName("JUnit test for get employee by id operation")
     @Test
@@ -103,6 +178,23 @@ public class EmployeeRepositoryTest {
 
     }
 
+    // JUnit test for find existing emails operation
+    @DisplayName("JUnit test for find existing emails operation")
+    @Test
+    public void givenEmployeeObject_whenFindExistingEmails_thenReturnOnlyStoredEmails(){
+
+        //given - precondition or setup | using setUp method to initialize employee object
+
+        employeeRepository.save(employee);
+
+        //when - action or the behaviour that we are going test
+        Set<String> existingEmails = employeeRepository.findExistingEmails(List.of(employee.getEmail(), "marco@example.com"));
+
+        //then - verify the output
+        assertThat(existingEmails).containsExactly(employee.getEmail());
+
+    }
+
     // JUnit test for update employee operation
     @DisplayName("JUnit test for update employee operation")
     @Test
@@ -218,5 +310,188 @@ public class EmployeeRepositoryTest {
 
     }
 
+    // JUnit test for version-only lookup
+    @DisplayName("JUnit test for version-only lookup")
+    @Test
+    public void givenSavedEmployee_whenFindVersionById_thenReturnCurrentVersion(){
+
+        //given - precondition or setup
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        savedEmployee.setFirstName("John");
+        employeeRepository.saveAndFlush(savedEmployee);
 
+        //when - action or the behaviour that we are going test
+        Optional<Long> version = employeeRepository.findVersionById(savedEmployee.getId());
+        Optional<Long> missing = employeeRepository.findVersionById(savedEmployee.getId() + 1);
+
+        //then - verify the output
+        assertThat(version).contains(1L);
+        assertThat(missing).isEmpty();
+    }
+
+    // JUnit test for patch update operation
+    @DisplayName("JUnit test for patch update operation")
+    @Test
+    public void givenSavedEmployee_whenPatchById_thenUpdateOnlyGivenFieldsAndBumpVersion(){
+
+        //given - precondition or setup
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        testEntityManager.clear();
+
+        //when - action or the behaviour that we are going test
+        int stale = employeeRepository.patchById(savedEmployee.getId(), "John", null, null, 7L);
+        int updated = employeeRepository.patchById(savedEmployee.getId(), "John", null, null, 0L);
+        int missing = employeeRepository.patchById(savedEmployee.getId() + 1, "John", null, null, null);
+        testEntityManager.clear();
+
+        //then - verify the output
+        Employee patchedEmployee = employeeRepository.findById(savedEmployee.getId()).get();
+        assertThat(stale).isZero();
+        assertThat(updated).isEqualTo(1);
+        assertThat(missing).isZero();
+        assertThat(patchedEmployee.getFirstName()).isEqualTo("John");
+        assertThat(patchedEmployee.getLastName()).isEqualTo("de la Rosa");
+        assertThat(patchedEmployee.getEmail()).isEqualTo("juan@example.com");
+        assertThat(patchedEmployee.getVersion()).isEqualTo(1L);
+    }
+
+    // JUnit test for direct delete operations
+    @DisplayName("JUnit test for direct delete operations")
+    @Test
+    public void givenSavedEmployees_whenDeleteDirectly_thenReturnAffectedRows(){
+
+        //given - precondition or setup
+        Employee employee1 = employeeRepository.save(employee);
+        Employee employee2 = employeeRepository.save(Employee.builder().firstName("Rodrigo").lastName("Sarabia").email("rodrigo@example.com").build());
+        Employee employee3 = employeeRepository.saveAndFlush(Employee.builder().firstName("Marco").lastName("Ruiz").email("marco@example.com").build());
+
+        //when - action or the behaviour that we are going test
+        int single = employeeRepository.deleteByIdDirectly(employee1.getId());
+        int missing = employeeRepository.deleteByIdDirectly(employee1.getId());
+        int bulk = employeeRepository.deleteAllByIdDirectly(List.of(employee2.getId(), employee3.getId(), employee1.getId()));
+
+        //then - verify the output
+        assertThat(single).isEqualTo(1);
+        assertThat(missing).isZero();
+        assertThat(bulk).isEqualTo(2);
+        assertThat(employeeRepository.count()).isZero();
+    }
+
+    // JUnit test for save employee statement budget
+    @DisplayName("JUnit test for save employee statement budget")
+    @Test
+    public void givenEmployeeObject_whenSaveAndFlush_thenOneInsert(){
+
+        //given - precondition or setup
+        StatementCount.reset();
+
+        //when - action or the behaviour that we are going test
+        employeeRepository.saveAndFlush(employee);
+
+        //then - verify the output
+        StatementCount.assertStatements(0, 1, 0, 0);
+    }
+
+    // JUnit test for lookup statement budgets
+    @DisplayName("JUnit test for lookup statement budgets")
+    @Test
+    public void givenSavedEmployee_whenLookedUp_thenOneSelectPerLookup(){
+
+        //given - precondition or setup
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        testEntityManager.clear();
+
+        //when - action or the behaviour that we are going test
+        //then - verify the output
+        StatementCount.reset();
+        employeeRepository.findById(savedEmployee.getId());
+        StatementCount.assertStatements(1, 0, 0, 0);
+
+        StatementCount.reset();
+        employeeRepository.findViewsByIdGreaterThan(Long.MIN_VALUE, Limit.of(10));
+        StatementCount.assertStatements(1, 0, 0, 0);
+
+        StatementCount.reset();
+        employeeRepository.findViewById(savedEmployee.getId());
+        employeeRepository.findAllViews();
+        StatementCount.assertStatements(2, 0, 0, 0);
+
+        StatementCount.reset();
+        employeeRepository.findVersionById(savedEmployee.getId());
+        StatementCount.assertStatements(1, 0, 0, 0);
+
+        StatementCount.reset();
+        employeeRepository.findExistingEmails(List.of("juan@example.com", "rodrigo@example.com"));
+        StatementCount.assertStatements(1, 0, 0, 0);
+
+        StatementCount.reset();
+        employeeRepository.findByJPQL("Juan", "de la Rosa");
+        employeeRepository.findByJPQLNamedParams("Juan", "de la Rosa");
+        employeeRepository.findByNativeSQL("Juan", "de la Rosa");
+        employeeRepository.findByNativeSQLNamed("Juan", "de la Rosa");
+        StatementCount.assertStatements(4, 0, 0, 0);
+    }
+
+    // JUnit test for direct update and delete statement budgets
+    @DisplayName("JUnit test for direct update and delete statement budgets")
+    @Test
+    public void givenSavedEmployee_whenPatchedAndDeletedDirectly_thenNoSelectIsIssued(){
+
+        //given - precondition or setup
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        testEntityManager.clear();
+
+        //when - action or the behaviour that we are going test
+        //then - verify the output
+        StatementCount.reset();
+        employeeRepository.patchById(savedEmployee.getId(), "John", null, null, savedEmployee.getVersion());
+        StatementCount.assertStatements(0, 0, 1, 0);
+
+        StatementCount.reset();
+        employeeRepository.deleteByIdDirectly(savedEmployee.getId());
+        StatementCount.assertStatements(0, 0, 0, 1);
+
+        StatementCount.reset();
+        employeeRepository.deleteAllByIdDirectly(List.of(1L, 2L, 3L));
+        StatementCount.assertStatements(0, 0, 0, 1);
+    }
+
+    // JUnit test for first/last-name lookup execution plan
+    @DisplayName("JUnit test for first/last-name lookup execution plan")
+    @Test
+    public void givenNameIndex_whenExplainFirstNameAndLastNameLookup_thenPlanUsesIndex(){
+
+        //given - precondition or setup
+        employeeRepository.save(employee);
+
+        //when - action or the behaviour that we are going test
+        String plan = explain("SELECT * FROM employees e WHERE e.first_name = 'Juan' AND e.last_name = 'de la Rosa'");
+
+        //then - verify the output
+        assertThat(plan).containsIgnoringCase(Employee.NAME_INDEX);
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+
+    // JUnit test for email lookup execution plan
+    @DisplayName("JUnit test for email lookup execution plan")
+    @Test
+    public void givenUniqueEmailIndex_whenExplainEmailLookup_thenPlanUsesIndex(){
+
+        //given - precondition or setup
+        employeeRepository.save(employee);
+
+        //when - action or the behaviour that we are going test
+        String plan = explain("SELECT * FROM employees e WHERE e.email = 'juan@example.com'");
+
+        //then - verify the output
+        assertThat(plan).containsIgnoringCase(Employee.EMAIL_CONSTRAINT);
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+
+    private String explain(String sql) {
+        return testEntityManager.getEntityManager()
+                .createNativeQuery("EXPLAIN " + sql)
+                .getSingleResult()
+                .toString();
+    }
 }
@@ -0,0 +1,223 @@
+package com.juandlr.spring_boot_testing.search;
+
+import com.juandlr.spring_boot_testing.config.EmployeeProperties;
+import com.juandlr.spring_boot_testing.dto.EmployeePatch;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
+import com.juandlr.spring_boot_testing.exception.ServiceUnavailableException;
+import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeSearchIndexTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmployeeSearchIndex searchIndex;
+
+    private EmployeeView juan, rodrigo;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new EmployeeSearchIndex(employeeRepository, new EmployeeProperties(), transactionManager);
+        juan = new EmployeeView(1L, "Juan", "de la Rosa", "juan@example.com", 0L);
+        rodrigo = new EmployeeView(2L, "Rodrigo", "Sarabia", "rsarabia@example.com", 0L);
+        searchIndex.put(juan);
+        searchIndex.put(rodrigo);
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchIndex.destroy();
+    }
+
+    // JUnit test for rebuild method
+    @DisplayName("JUnit test for rebuild method")
+    @Test
+    public void givenEmployeesTable_whenRebuild_thenIndexEveryRow(){
+
+        //given - precondition or setup
+        EmployeeView marco = new EmployeeView(3L, "Marco", "Polo", "marco@example.com", 0L);
+        given(employeeRepository.streamAll(anyInt())).willReturn(Stream.of(juan, marco));
+
+        //when - action or the behaviour that we are going test
+        searchIndex.rebuild();
+
+        //then - verify the output
+        assertThat(searchIndex.size()).isEqualTo(2);
+        assertThat(searchIndex.search("pol", 10)).containsExactly(marco);
+        assertThat(searchIndex.search("sarabia", 10)).isEmpty();
+    }
+
+    // JUnit test for search method before a background build completed
+    @DisplayName("JUnit test for search method before a background build completed")
+    @Test
+    public void givenBackgroundBuild_whenSearchBeforeBuilt_thenThrowsServiceUnavailable(){
+
+        //given - precondition or setup
+        EmployeeProperties employeeProperties = new EmployeeProperties();
+        employeeProperties.getSearch().setBuildInBackground(true);
+        EmployeeSearchIndex background = new EmployeeSearchIndex(employeeRepository, employeeProperties, transactionManager);
+        given(employeeRepository.streamAll(anyInt())).willReturn(Stream.of(juan));
+
+        //when - action or the behaviour that we are going test
+        background.afterSingletonsInstantiated();
+        assertThrows(ServiceUnavailableException.class, () -> background.search("juan", 10));
+        background.rebuild();
+
+        //then - verify the output
+        assertThat(background.search("juan", 10)).containsExactly(juan);
+    }
+
+    // JUnit test for search method (substring)
+    @DisplayName("JUnit test for search method (substring)")
+    @Test
+    public void givenSubstringInAnyField_whenSearch_thenReturnMatchesIgnoringCase(){
+
+        //given - precondition or setup
+        String lastName = "ROSA", email = "sarabia@", everyone = "example";
+
+        //when - action or the behaviour that we are going test
+        //then - verify the output
+        assertThat(searchIndex.search(lastName, 10)).containsExactly(juan);
+        assertThat(searchIndex.search(email, 10)).containsExactly(rodrigo);
+        assertThat(searchIndex.search(everyone, 10)).containsExactly(juan, rodrigo);
+        assertThat(searchIndex.search(everyone, 1)).containsExactly(juan);
+        assertThat(searchIndex.search("rosb", 10)).isEmpty();
+    }
+
+    // JUnit test for search method (short prefix)
+    @DisplayName("JUnit test for search method (short prefix)")
+    @Test
+    public void givenShortQuery_whenSearch_thenMatchWordPrefixesOnly(){
+
+        //given - precondition or setup
+        String prefix = "ro", inner = "ua";
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeView> prefixMatches = searchIndex.search(prefix, 10);
+        List<EmployeeView> innerMatches = searchIndex.search(inner, 10);
+
+        //then - verify the output
+        assertThat(prefixMatches).containsExactly(juan, rodrigo);
+        assertThat(innerMatches).isEmpty();
+    }
+
+    // JUnit test for put, patch and removeAll methods
+    @DisplayName("JUnit test for put, patch and removeAll methods")
+    @Test
+    public void givenIndexedEmployees_whenWritten_thenSearchSeesLatestValues(){
+
+        //given - precondition or setup
+        EmployeeView renamed = new EmployeeView(1L, "John", "de la Rosa", "john@example.com", 1L);
+
+        //when - action or the behaviour that we are going test
+        searchIndex.put(renamed);
+        searchIndex.patch(1L, new EmployeePatch(null, "Smith", null), 2L);
+        searchIndex.removeAll(Set.of(2L));
+
+        //then - verify the output
+        assertThat(searchIndex.search("juan", 10)).isEmpty();
+        assertThat(searchIndex.search("rosa", 10)).isEmpty();
+        assertThat(searchIndex.search("smi", 10))
+                .containsExactly(new EmployeeView(1L, "John", "Smith", "john@example.com", 2L));
+        assertThat(searchIndex.search("sarabia", 10)).isEmpty();
+        assertThat(searchIndex.size()).isEqualTo(1);
+    }
+
+    // JUnit test for put method with an older version
+    @DisplayName("JUnit test for put method with an older version")
+    @Test
+    public void givenNewerVersionIndexed_whenPutOlderVersion_thenKeepNewerVersion(){
+
+        //given - precondition or setup
+        EmployeeView newer = new EmployeeView(1L, "John", "de la Rosa", "john@example.com", 2L);
+        EmployeeView older = new EmployeeView(1L, "Juanito", "de la Rosa", "juan@example.com", 1L);
+        searchIndex.put(newer);
+
+        //when - action or the behaviour that we are going test
+        searchIndex.put(older);
+        searchIndex.patch(1L, new EmployeePatch("Juanito", null, null), 2L);
+
+        //then - verify the output
+        assertThat(searchIndex.search("de la", 10)).contains(newer);
+        assertThat(searchIndex.search("juanito", 10)).isEmpty();
+    }
+
+    // JUnit test for patch method without the version it was made on
+    @DisplayName("JUnit test for patch method without the version it was made on")
+    @Test
+    public void givenMissedUpdateOrUnknownVersion_whenPatch_thenReadPatchedRowInBackground() throws InterruptedException {
+
+        //given - precondition or setup
+        EmployeeView committed = new EmployeeView(1L, "John", "Smith", "john@example.com", 3L);
+        EmployeeView sarabia = new EmployeeView(2L, "Rodrigo", "Sarabia Smith", "rsarabia@example.com", 1L);
+        Set<String> readingThreads = ConcurrentHashMap.newKeySet();
+        given(employeeRepository.findViewById(1L)).willAnswer(invocation -> {
+            readingThreads.add(Thread.currentThread().getName());
+            return Optional.of(committed);
+        });
+        given(employeeRepository.findViewById(2L)).willAnswer(invocation -> {
+            readingThreads.add(Thread.currentThread().getName());
+            return Optional.of(sarabia);
+        });
+
+        //when - action or the behaviour that we are going test
+        searchIndex.patch(1L, new EmployeePatch(null, "Smith", null), 3L);
+        searchIndex.patch(2L, new EmployeePatch(null, "Sarabia Smith", null), null);
+
+        //then - verify the output, the patched fields are searchable before the rows are read back
+        assertThat(searchIndex.search("smith", 10)).extracting(EmployeeView::lastName).containsExactly("Smith", "Sarabia Smith");
+        awaitSearch("smith", List.of(committed, sarabia));
+        assertThat(readingThreads).containsExactly("employee-search-read-back");
+    }
+
+    // JUnit test for compaction after many updates
+    @DisplayName("JUnit test for compaction after many updates")
+    @Test
+    public void givenManyUpdates_whenCompacted_thenSearchStillReturnsLatestValues(){
+
+        //given - precondition or setup
+        int updates = 5_000;
+
+        //when - action or the behaviour that we are going test
+        for (int i = 0; i < updates; i++) {
+            searchIndex.put(new EmployeeView(1L, "Juan" + i, "de la Rosa", "juan@example.com", (long) i));
+        }
+
+        //then - verify the output
+        assertThat(searchIndex.search("juan4999", 10)).extracting(EmployeeView::version).containsExactly(4_999L);
+        assertThat(searchIndex.search("juan", 10)).hasSize(1);
+        assertThat(searchIndex.size()).isEqualTo(2);
+    }
+
+    private void awaitSearch(String query, List<EmployeeView> expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!searchIndex.search(query, 10).equals(expected)) {
+            assertThat(System.nanoTime()).as("read-backs of %s", query).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package com.juandlr.spring_boot_testing.service;
 
+import com.juandlr.spring_boot_testing.coalescing.SingleFlight;
+import com.juandlr.spring_boot_testing.config.CacheConfig;
+import com.juandlr.spring_boot_testing.config.EmployeeProperties;
+import com.juandlr.spring_boot_testing.config.MetricsConfig;
+import com.juandlr.spring_boot_testing.dto.EmployeeBulkResult;
+import com.juandlr.spring_boot_testing.dto.EmployeePage;
+import com.juandlr.spring_boot_testing.dto.EmployeePatch;
+import com.juandlr.spring_boot_testing.dto.EmployeeView;
 import com.juandlr.spring_boot_testing.entity.Employee;
+import com.juandlr.spring_boot_testing.exception.InvalidRequestException;
+import com.juandlr.spring_boot_testing.exception.PreconditionFailedException;
+import com.juandlr.spring_boot_testing.exception.ResourceAlreadyExistsException;
 import com.juandlr.spring_boot_testing.exception.ResourceNotFoundException;
 import com.juandlr.spring_boot_testing.repository.EmployeeRepository;
+import com.juandlr.spring_boot_testing.search.EmployeeSearchIndex;
 import static org.assertj.core.api.Assertions.*;
 
 import com.juandlr.spring_boot_testing.service.impl.EmployeeServiceImpl;
@@ -19,12 +31,30 @@ import static org.mockito.Mockito.*;
 
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.swing.text.html.Option;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 @ExtendWith(MockitoExtension.class)
 public class EmployeeServiceTest {
@@ -32,11 +62,33 @@ public class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EmployeeSearchIndex searchIndex;
+
+    @Spy
+    private EmployeeProperties employeeProperties = new EmployeeProperties();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry coalescingMetrics = new SimpleMeterRegistry();
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(new EmployeeProperties(), coalescingMetrics);
+
+    @Spy
+    private CacheManager cacheManager = new CacheConfig().cacheManager(new EmployeeProperties());
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
     private Employee employee;
 
+    private EmployeeView employeeView;
+
     @BeforeEach
     void setUp() {
         employee = Employee.builder()
@@ -45,6 +97,7 @@ public class EmployeeServiceTest {
                 .lastName("de la Rosa")
                 .email("juan@example.com")
                 .build();
+        employeeView = new EmployeeView(1L, "Juan", "de la Rosa", "juan@example.com", 0L);
     }
 
     // JUnit test for saveEmployee method
@@ -53,14 +106,14 @@ public class EmployeeServiceTest {
     public void givenEmployeeEmail_whenSaveEmployee_thenReturnEmployeeObject(){
 
         //given - precondition or setup
-        given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.empty());
-        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
 
         //when - action or the behaviour that we are going test
         Employee savedEmployee = employeeService.saveEmployee(employee);
 
         //then - verify the output
         assertThat(savedEmployee).isNotNull();
+        verify(employeeRepository, never()).findByEmail(any());
 
     }
 
@@ -70,15 +123,103 @@ public class EmployeeServiceTest {
     public void givenEmployeeEmail_whenSaveEmployee_thenThrowsException(){
 
         //given - precondition or setup
-        given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+        given(employeeRepository.saveAndFlush(employee)).willThrow(duplicateEmailViolation());
 
         //when - action or the behaviour that we are going test
-        assertThrows(ResourceNotFoundException.class, () -> {
+        ResourceAlreadyExistsException exception = assertThrows(ResourceAlreadyExistsException.class, () -> {
+            employeeService.saveEmployee(employee);
+        });
+
+        //then - verify the output
+        assertThat(exception.getMessage()).contains(employee.getEmail());
+        verify(employeeRepository, never()).findByEmail(any());
+        assertThat(meterRegistry.get(MetricsConfig.DUPLICATE_EMAIL_COUNTER).tag("operation", "create").counter().count()).isEqualTo(1);
+
+    }
+
+    // JUnit test for saveEmployee method when another constraint fails
+    @DisplayName("JUnit test for saveEmployee method when another constraint fails")
+    @Test
+    public void givenOtherConstraintViolation_whenSaveEmployee_thenRethrowException(){
+
+        //given - precondition or setup
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("first_name cannot be null",
+                new ConstraintViolationException("first_name cannot be null", new SQLException(), null));
+        given(employeeRepository.saveAndFlush(employee)).willThrow(violation);
+
+        //when - action or the behaviour that we are going test
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class, () -> {
             employeeService.saveEmployee(employee);
         });
 
         //then - verify the output
-        verify(employeeRepository, never()).save(any(Employee.class));
+        assertThat(exception).isSameAs(violation);
+
+    }
+
+    // JUnit test for saveEmployees method
+    @DisplayName("JUnit test for saveEmployees method")
+    @Test
+    public void givenEmployeeList_whenSaveEmployees_thenReturnResultPerEmployee(){
+
+        //given - precondition or setup
+        Employee existing = Employee.builder().firstName("Rodrigo").lastName("Sarabia").email("rodrigo@example.com").build();
+        Employee repeated = Employee.builder().firstName("John").lastName("de la Rosa").email("juan@example.com").build();
+        Employee incomplete = Employee.builder().firstName("Marco").build();
+        given(employeeRepository.findExistingEmails(List.of("juan@example.com", "rodrigo@example.com", "juan@example.com")))
+                .willReturn(Set.of("rodrigo@example.com"));
+        given(employeeRepository.saveAllAndFlush(List.of(employee))).willReturn(List.of(employee));
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeBulkResult> results = employeeService.saveEmployees(List.of(employee, existing, repeated, incomplete));
+
+        //then - verify the output
+        assertThat(results).extracting(EmployeeBulkResult::status).containsExactly(
+                EmployeeBulkResult.Status.CREATED, EmployeeBulkResult.Status.FAILED,
+                EmployeeBulkResult.Status.FAILED, EmployeeBulkResult.Status.FAILED);
+        assertThat(results.get(0).id()).isEqualTo(employee.getId());
+        assertThat(results).extracting(EmployeeBulkResult::index).containsExactly(0, 1, 2, 3);
+        verify(employeeRepository, never()).findByEmail(any());
+
+    }
+
+    // JUnit test for saveEmployees method with emails differing only in case
+    @DisplayName("JUnit test for saveEmployees method with emails differing only in case")
+    @Test
+    public void givenEmailsDifferingInCase_whenSaveEmployees_thenRejectThemAsDuplicates(){
+
+        //given - precondition or setup
+        Employee existing = Employee.builder().firstName("Rodrigo").lastName("Sarabia").email("rodrigo@example.com").build();
+        Employee repeated = Employee.builder().firstName("John").lastName("de la Rosa").email("Juan@Example.com").build();
+        given(employeeRepository.findExistingEmails(List.of("juan@example.com", "rodrigo@example.com", "Juan@Example.com")))
+                .willReturn(Set.of("Rodrigo@Example.com"));
+        given(employeeRepository.saveAllAndFlush(List.of(employee))).willReturn(List.of(employee));
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeBulkResult> results = employeeService.saveEmployees(List.of(employee, existing, repeated));
+
+        //then - verify the output
+        assertThat(results).extracting(EmployeeBulkResult::status).containsExactly(
+                EmployeeBulkResult.Status.CREATED, EmployeeBulkResult.Status.FAILED, EmployeeBulkResult.Status.FAILED);
+        assertThat(results.get(1).message()).startsWith("Employee already exist");
+        assertThat(results.get(2).message()).startsWith("Email repeated");
+    }
+
+    // JUnit test for saveEmployees method which throws exception
+    @DisplayName("JUnit test for saveEmployees method which throws exception")
+    @Test
+    public void givenTooManyEmployees_whenSaveEmployees_thenThrowsException(){
+
+        //given - precondition or setup
+        employeeProperties.getBulk().setMaxSize(1);
+
+        //when - action or the behaviour that we are going test
+        assertThrows(InvalidRequestException.class, () -> {
+            employeeService.saveEmployees(List.of(employee, employee));
+        });
+
+        //then - verify the output
+        verify(employeeRepository, never()).saveAllAndFlush(any());
 
     }
 
@@ -88,17 +229,12 @@ public class EmployeeServiceTest {
     public void givenEmployeeList_whenGetAllEmployees_thenReturnEmployeesList(){
 
         //given - precondition or setup
-        Employee employee1 = Employee.builder()
-                .id(2L)
-                .firstName("Rodrigo")
-                .lastName("Sarabia")
-                .email("rodrigo@example.com")
-                .build();
+        EmployeeView employeeView1 = new EmployeeView(2L, "Rodrigo", "Sarabia", "rodrigo@example.com", 0L);
 
-        given(employeeRepository.findAll()).willReturn(List.of(employee, employee1));
+        given(employeeRepository.findAllViews()).willReturn(List.of(employeeView, employeeView1));
 
         //when - action or the behaviour that we are going test
-        List<Employee> employeeList = employeeService.getAllEmployees();
+        List<EmployeeView> employeeList = employeeService.getAllEmployees();
 
         //then - verify the output
         assertThat(employeeList).isNotNull();
@@ -112,10 +248,10 @@ public class EmployeeServiceTest {
     public void givenEmptyEmployeeList_whenGetAllEmployees_thenReturnEmptyEmployeesList(){
 
         //given - precondition or setup
-        given(employeeRepository.findAll()).willReturn(Collections.emptyList());
+        given(employeeRepository.findAllViews()).willReturn(Collections.emptyList());
 
         //when - action or the behaviour that we are going test
-        List<Employee> employeeList = employeeService.getAllEmployees();
+        List<EmployeeView> employeeList = employeeService.getAllEmployees();
 
         //then - verify the output
         assertThat(employeeList).isEmpty();
@@ -123,6 +259,111 @@ public class EmployeeServiceTest {
 
     }
 
+    // JUnit test for getEmployeePage method
+    @DisplayName("JUnit test for getEmployeePage method")
+    @Test
+    public void givenMoreRowsThanLimit_whenGetEmployeePage_thenReturnPageWithNextCursor(){
+
+        //given - precondition or setup
+        EmployeeView employeeView1 = new EmployeeView(2L, "Rodrigo", "Sarabia", "rodrigo@example.com", 0L);
+
+        given(employeeRepository.findViewsByIdGreaterThan(0L, Limit.of(2))).willReturn(List.of(employeeView, employeeView1));
+
+        //when - action or the behaviour that we are going test
+        EmployeePage page = employeeService.getEmployeePage(0L, 1);
+
+        //then - verify the output
+        assertThat(page.employees()).containsExactly(employeeView);
+        assertThat(page.nextCursor()).isEqualTo(employeeView.id());
+
+    }
+
+    // JUnit test for getEmployeePage method (last page)
+    @DisplayName("JUnit test for getEmployeePage method (last page)")
+    @Test
+    public void givenFewerRowsThanLimit_whenGetEmployeePage_thenReturnPageWithoutNextCursor(){
+
+        //given - precondition or setup
+        given(employeeRepository.findViewsByIdGreaterThan(Long.MIN_VALUE, Limit.of(51))).willReturn(List.of(employeeView));
+
+        //when - action or the behaviour that we are going test
+        EmployeePage page = employeeService.getEmployeePage(null, null);
+
+        //then - verify the output
+        assertThat(page.employees()).containsExactly(employeeView);
+        assertThat(page.nextCursor()).isNull();
+
+    }
+
+    // JUnit test for getEmployeePage method with a limit above the maximum page size
+    @DisplayName("JUnit test for getEmployeePage method with a limit above the maximum page size")
+    @Test
+    public void givenLimitAboveMaxSize_whenGetEmployeePage_thenClampToMaxSize(){
+
+        //given - precondition or setup
+        given(employeeRepository.findViewsByIdGreaterThan(Long.MIN_VALUE, Limit.of(501))).willReturn(Collections.emptyList());
+
+        //when - action or the behaviour that we are going test
+        EmployeePage page = employeeService.getEmployeePage(null, 1_000_000);
+
+        //then - verify the output
+        assertThat(page.employees()).isEmpty();
+        verify(employeeRepository).findViewsByIdGreaterThan(Long.MIN_VALUE, Limit.of(501));
+
+    }
+
+    // JUnit test for exportEmployees method
+    @DisplayName("JUnit test for exportEmployees method")
+    @Test
+    public void givenEmployeeStream_whenExportEmployees_thenPassEveryEmployeeToConsumer(){
+
+        //given - precondition or setup
+        List<EmployeeView> exported = new ArrayList<>();
+        boolean[] closed = {false};
+        given(employeeRepository.streamAll(500)).willReturn(Stream.of(employeeView).onClose(() -> closed[0] = true));
+
+        //when - action or the behaviour that we are going test
+        employeeService.exportEmployees(exported::add);
+
+        //then - verify the output
+        assertThat(exported).containsExactly(employeeView);
+        assertThat(closed[0]).isTrue();
+
+    }
+
+    // JUnit test for searchEmployees method
+    @DisplayName("JUnit test for searchEmployees method")
+    @Test
+    public void givenQueryWithoutLimit_whenSearchEmployees_thenSearchIndexWithDefaultLimit(){
+
+        //given - precondition or setup
+        given(searchIndex.search("ros", 10)).willReturn(List.of(employeeView));
+
+        //when - action or the behaviour that we are going test
+        List<EmployeeView> matches = employeeService.searchEmployees("ros", null);
+
+        //then - verify the output
+        assertThat(matches).containsExactly(employeeView);
+        verifyNoInteractions(employeeRepository);
+    }
+
+    // JUnit test for searchEmployees method which throws exception
+    @DisplayName("JUnit test for searchEmployees method which throws exception")
+    @Test
+    public void givenBlankQuery_whenSearchEmployees_thenThrowsException(){
+
+        //given - precondition or setup
+        String query = "  ";
+
+        //when - action or the behaviour that we are going test
+        assertThrows(InvalidRequestException.class, () -> {
+            employeeService.searchEmployees(query, 5);
+        });
+
+        //then - verify the output
+        verify(searchIndex, never()).search(any(), anyInt());
+    }
+
     // JUnit test for getEmployeeById method
     @DisplayName("JUnit test for getEmployeeById method")
     @Test
@@ -138,6 +379,76 @@ public class EmployeeServiceTest {
         assertThat(savedEmployee).isNotNull();
     }
 
+    // JUnit test for getEmployeeViewById method
+    @DisplayName("JUnit test for getEmployeeViewById method")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeViewById_thenReturnProjection(){
+
+        //given - precondition or setup
+        given(employeeRepository.findViewById(1L)).willReturn(Optional.of(employeeView));
+
+        //when - action or the behaviour that we are going test
+        Optional<EmployeeView> view = employeeService.getEmployeeViewById(1L);
+
+        //then - verify the output
+        assertThat(view).contains(employeeView);
+        verify(employeeRepository, never()).findById(anyLong());
+    }
+
+    // JUnit test for getEmployeeViewById method with concurrent callers
+    @DisplayName("JUnit test for getEmployeeViewById method with concurrent callers")
+    @Test
+    public void givenConcurrentCallersForSameId_whenGetEmployeeViewById_thenRunOneQuery() throws Exception {
+
+        //given - precondition or setup
+        int callers = 32;
+        CountDownLatch release = new CountDownLatch(1);
+        given(employeeRepository.findViewById(1L)).willAnswer(invocation -> {
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            return Optional.of(employeeView);
+        });
+
+        //when - action or the behaviour that we are going test
+        List<Future<Optional<EmployeeView>>> views = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                views.add(executor.submit(() -> employeeService.getEmployeeViewById(1L)));
+            }
+            // the first query is held open until every other caller has joined it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (coalescingMetrics.get(MetricsConfig.COALESCING_COUNTER).tag("outcome", "joined").counter().count() < callers - 1) {
+                assertThat(System.nanoTime()).isLessThan(deadline);
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            //then - verify the output
+            for (Future<Optional<EmployeeView>> view : views) {
+                assertThat(view.get(5, TimeUnit.SECONDS)).contains(employeeView);
+            }
+        }
+        verify(employeeRepository, times(1)).findViewById(1L);
+        assertThat(coalescingMetrics.get(MetricsConfig.COALESCING_RATIO_GAUGE).gauge().value())
+                .isEqualTo((callers - 1) / (double) callers);
+    }
+
+    // JUnit test for getEmployeeById method with a shared load
+    @DisplayName("JUnit test for getEmployeeById method with a shared load")
+    @Test
+    public void givenEmployeeId_whenGetEmployeeById_thenReturnCopyOfLoadedEntity(){
+
+        //given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+
+        //when - action or the behaviour that we are going test
+        Employee first = employeeService.getEmployeeById(1L).orElseThrow();
+        Employee second = employeeService.getEmployeeById(1L).orElseThrow();
+
+        //then - verify the output
+        assertThat(first).isNotSameAs(employee).isNotSameAs(second);
+        assertThat(first).usingRecursiveComparison().isEqualTo(employee);
+    }
+
     // JUnit test for updateEmployee method
     @DisplayName("JUnit test for updateEmployee method")
     @Test
@@ -156,6 +467,132 @@ public class EmployeeServiceTest {
         assertThat(updatedEmployee.getEmail()).isEqualTo("john@example.com");
     }
 
+    // JUnit test for updateEmployee method which throws exception
+    @DisplayName("JUnit test for updateEmployee method which throws exception")
+    @Test
+    public void givenTakenEmail_whenUpdateEmployee_thenThrowsResourceAlreadyExistsException(){
+
+        //given - precondition or setup
+        employee.setEmail("rodrigo@example.com");
+        given(employeeRepository.save(employee)).willThrow(duplicateEmailViolation());
+
+        //when - action or the behaviour that we are going test
+        ResourceAlreadyExistsException exception = assertThrows(ResourceAlreadyExistsException.class, () -> {
+            employeeService.updateEmployee(employee);
+        });
+
+        //then - verify the output
+        assertThat(exception.getMessage()).contains("rodrigo@example.com");
+        assertThat(meterRegistry.get(MetricsConfig.DUPLICATE_EMAIL_COUNTER).tag("operation", "update").counter().count()).isEqualTo(1);
+    }
+
+    // JUnit test for saveEmployee method which throws exception under a Turkish default locale
+    @DisplayName("JUnit test for saveEmployee method which throws exception under a Turkish default locale")
+    @Test
+    public void givenTurkishDefaultLocale_whenSaveEmployeeWithTakenEmail_thenThrowsResourceAlreadyExistsException(){
+
+        //given - precondition or setup, a dotless i would not match the constraint name
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        given(employeeRepository.saveAndFlush(employee)).willThrow(duplicateEmailViolation());
+
+        //when - action or the behaviour that we are going test
+        try {
+            assertThrows(ResourceAlreadyExistsException.class, () -> employeeService.saveEmployee(employee));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        //then - verify the output
+        assertThat(meterRegistry.get(MetricsConfig.DUPLICATE_EMAIL_COUNTER).tag("operation", "create").counter().count()).isEqualTo(1);
+    }
+
+    // JUnit test for updateEmployee method cache eviction
+    @DisplayName("JUnit test for updateEmployee method cache eviction")
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployee_thenEvictEntriesOfThatEmployeeOnly(){
+
+        //given - precondition or setup
+        Employee other = Employee.builder().id(2L).firstName("Rodrigo").lastName("Sarabia").email("rodrigo@example.com").build();
+        cacheManager.getCache(CacheConfig.EMPLOYEES).put(employee.getId(), employee);
+        cacheManager.getCache(CacheConfig.EMPLOYEES).put(other.getId(), other);
+        given(employeeRepository.save(employee)).willReturn(employee);
+        employee.setEmail("john@example.com");
+
+        //when - action or the behaviour that we are going test
+        employeeService.updateEmployee(employee);
+
+        //then - verify the output
+        assertThat(cacheManager.getCache(CacheConfig.EMPLOYEES).get(employee.getId())).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.EMPLOYEES).get(other.getId())).isNotNull();
+    }
+
+    // JUnit test for patchEmployee method
+    @DisplayName("JUnit test for patchEmployee method")
+    @Test
+    public void givenEmployeePatch_whenPatchEmployee_thenSingleUpdateIsIssued(){
+
+        //given - precondition or setup
+        given(employeeRepository.patchById(1L, "John", null, null, 3L)).willReturn(1);
+
+        //when - action or the behaviour that we are going test
+        employeeService.patchEmployee(1L, new EmployeePatch("John", null, null), 3L);
+
+        //then - verify the output
+        verify(employeeRepository).patchById(1L, "John", null, null, 3L);
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(employeeRepository, never()).existsById(anyLong());
+    }
+
+    // JUnit test for patchEmployee method when the employee does not exist
+    @DisplayName("JUnit test for patchEmployee method when the employee does not exist")
+    @Test
+    public void givenMissingEmployee_whenPatchEmployee_thenThrowsResourceNotFoundException(){
+
+        //given - precondition or setup
+        given(employeeRepository.patchById(1L, "John", null, null, null)).willReturn(0);
+
+        //when - action or the behaviour that we are going test
+        assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.patchEmployee(1L, new EmployeePatch("John", null, null), null);
+        });
+
+        //then - verify the output
+        verify(employeeRepository, never()).existsById(anyLong());
+    }
+
+    // JUnit test for patchEmployee method with a stale version
+    @DisplayName("JUnit test for patchEmployee method with a stale version")
+    @Test
+    public void givenStaleVersion_whenPatchEmployee_thenThrowsPreconditionFailedException(){
+
+        //given - precondition or setup
+        given(employeeRepository.patchById(1L, "John", null, null, 3L)).willReturn(0);
+        given(employeeRepository.existsById(1L)).willReturn(true);
+
+        //when - action or the behaviour that we are going test
+        assertThrows(PreconditionFailedException.class, () -> {
+            employeeService.patchEmployee(1L, new EmployeePatch("John", null, null), 3L);
+        });
+    }
+
+    // JUnit test for patchEmployee method without fields
+    @DisplayName("JUnit test for patchEmployee method without fields")
+    @Test
+    public void givenEmptyPatch_whenPatchEmployee_thenThrowsInvalidRequestException(){
+
+        //given - precondition or setup
+        EmployeePatch patch = new EmployeePatch(null, null, null);
+
+        //when - action or the behaviour that we are going test
+        assertThrows(InvalidRequestException.class, () -> {
+            employeeService.patchEmployee(1L, patch, null);
+        });
+
+        //then - verify the output
+        verify(employeeRepository, never()).patchById(anyLong(), any(), any(), any(), any());
+    }
+
     // JUnit test for deleteEmployee method
     @DisplayName("JUnit test for deleteEmployee method")
     @Test
@@ -163,15 +600,122 @@ public class EmployeeServiceTest {
 
         //given - precondition or setup
         long employeeId = 1L;
-        willDoNothing().given(employeeRepository).deleteById(employeeId);
+        given(employeeRepository.deleteByIdDirectly(employeeId)).willReturn(1);
 
         //when - action or the behaviour that we are going test
         employeeService.deleteEmployee(employeeId);
 
         //then - verify the output
-        verify(employeeRepository, times(1)).deleteById(employeeId);
+        verify(employeeRepository, times(1)).deleteByIdDirectly(employeeId);
+        verify(employeeRepository, never()).findById(employeeId);
+
+    }
+
+    // JUnit test for deleteEmployee method when the employee does not exist
+    @DisplayName("JUnit test for deleteEmployee method when the employee does not exist")
+    @Test
+    public void givenMissingEmployeeId_whenDeleteEmployee_thenThrowsResourceNotFoundException(){
+
+        //given - precondition or setup
+        given(employeeRepository.deleteByIdDirectly(5L)).willReturn(0);
+
+        //when - action or the behaviour that we are going test
+        assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.deleteEmployee(5L);
+        });
+    }
+
+    // JUnit test for deleteEmployees method
+    @DisplayName("JUnit test for deleteEmployees method")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenSingleDeleteWithDistinctIds(){
+
+        //given - precondition or setup
+        given(employeeRepository.deleteAllByIdDirectly(Set.of(1L, 2L))).willReturn(2);
+
+        //when - action or the behaviour that we are going test
+        int deleted = employeeService.deleteEmployees(List.of(1L, 2L, 1L));
+
+        //then - verify the output
+        assertThat(deleted).isEqualTo(2);
+        verify(employeeRepository, times(1)).deleteAllByIdDirectly(Set.of(1L, 2L));
+    }
+
+    // JUnit test for deleteEmployees method which throws exception
+    @DisplayName("JUnit test for deleteEmployees method which throws exception")
+    @Test
+    public void givenTooManyEmployeeIds_whenDeleteEmployees_thenThrowsInvalidRequestException(){
+
+        //given - precondition or setup
+        employeeProperties.getBulk().setMaxSize(1);
+
+        //when - action or the behaviour that we are going test
+        assertThrows(InvalidRequestException.class, () -> {
+            employeeService.deleteEmployees(List.of(1L, 2L));
+        });
+
+        //then - verify the output
+        verify(employeeRepository, never()).deleteAllByIdDirectly(any());
+    }
+
+    // each repository call below is one statement (see the statement budgets in EmployeeRepositoryTest),
+    // so an extra call here is an extra database round trip
+    // JUnit test for write methods repository call budget
+    @DisplayName("JUnit test for write methods repository call budget")
+    @Test
+    public void givenWriteOperations_whenExecuted_thenEachMakesExactlyOneRepositoryCall(){
+
+        //given - precondition or setup
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.patchById(1L, "John", null, null, null)).willReturn(1);
+        given(employeeRepository.deleteByIdDirectly(1L)).willReturn(1);
+
+        //when - action or the behaviour that we are going test
+        //then - verify the output
+        employeeService.saveEmployee(employee);
+        verify(employeeRepository).saveAndFlush(employee);
+        verifyNoMoreInteractions(employeeRepository);
+
+        employeeService.updateEmployee(employee);
+        verify(employeeRepository).save(employee);
+        verifyNoMoreInteractions(employeeRepository);
+
+        employeeService.patchEmployee(1L, new EmployeePatch("John", null, null), null);
+        verify(employeeRepository).patchById(1L, "John", null, null, null);
+        verifyNoMoreInteractions(employeeRepository);
+
+        employeeService.deleteEmployee(1L);
+        verify(employeeRepository).deleteByIdDirectly(1L);
+        verifyNoMoreInteractions(employeeRepository);
+        // outside a transaction every successful write reaches the search index right away
+        verify(searchIndex, times(2)).put(EmployeeSearchIndex.view(employee));
+        verify(searchIndex).patch(1L, new EmployeePatch("John", null, null), null);
+        verify(searchIndex).removeAll(Set.of(1L));
+    }
 
+    // JUnit test for saveEmployees method repository call budget
+    @DisplayName("JUnit test for saveEmployees method repository call budget")
+    @Test
+    public void givenEmployeeList_whenSaveEmployees_thenOneLookupAndOneBatchedSave(){
+
+        //given - precondition or setup
+        Employee employee2 = Employee.builder().firstName("Rodrigo").lastName("Sarabia").email("rodrigo@example.com").build();
+        given(employeeRepository.findExistingEmails(List.of(employee.getEmail(), employee2.getEmail()))).willReturn(Set.of());
+        given(employeeRepository.saveAllAndFlush(List.of(employee, employee2))).willReturn(List.of(employee, employee2));
+
+        //when - action or the behaviour that we are going test
+        employeeService.saveEmployees(List.of(employee, employee2));
+
+        //then - verify the output
+        verify(employeeRepository).findExistingEmails(any());
+        verify(employeeRepository).saveAllAndFlush(any());
+        verifyNoMoreInteractions(employeeRepository);
     }
 
+    private static DataIntegrityViolationException duplicateEmailViolation() {
+        return new DataIntegrityViolationException("duplicate email", new ConstraintViolationException(
+                "duplicate email", new SQLException(), "PUBLIC." + Employee.EMAIL_CONSTRAINT.toUpperCase(Locale.ROOT) + "_INDEX_A"));
+    }
 
 }
@@ -0,0 +1,78 @@
+package com.juandlr.spring_boot_testing.support;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.listener.SingleQueryCountHolder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// statement budgets for tests that import StatementCountConfig; counts are per thread,
+// so they cover MockMvc requests and direct repository calls made by the test itself.
+// The all-threads counts and the hold cover requests the test sends from several threads
+public final class StatementCount {
+
+    static final String DATA_SOURCE_NAME = "statement-count";
+
+    static final SingleQueryCountHolder ALL_THREADS = new SingleQueryCountHolder();
+
+    static {
+        // left on, it would switch QueryCountHolder from per-thread to these counts
+        ALL_THREADS.setPopulateQueryCountHolder(false);
+    }
+
+    private static volatile CountDownLatch hold;
+
+    private StatementCount() {
+    }
+
+    public static void reset() {
+        QueryCountHolder.clear();
+    }
+
+    public static void resetAllThreads() {
+        ALL_THREADS.clear();
+    }
+
+    public static void assertStatements(int selects, int inserts, int updates, int deletes) {
+        assertCounts(QueryCountHolder.get(DATA_SOURCE_NAME), selects, inserts, updates, deletes);
+    }
+
+    public static void assertStatementsOnAllThreads(int selects, int inserts, int updates, int deletes) {
+        assertCounts(ALL_THREADS.getQueryCountMap().get(DATA_SOURCE_NAME), selects, inserts, updates, deletes);
+    }
+
+    // statements wait before they are sent until releaseStatements, or five seconds
+    public static void holdStatements() {
+        hold = new CountDownLatch(1);
+    }
+
+    public static void releaseStatements() {
+        CountDownLatch latch = hold;
+        hold = null;
+        if (latch != null) {
+            latch.countDown();
+        }
+    }
+
+    static void awaitRelease() {
+        CountDownLatch latch = hold;
+        if (latch == null) {
+            return;
+        }
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void assertCounts(QueryCount count, int selects, int inserts, int updates, int deletes) {
+        QueryCount actual = count == null ? new QueryCount() : count;
+        assertThat(new long[]{actual.getSelect(), actual.getInsert(), actual.getUpdate(), actual.getDelete()})
+                .as("statements sent (selects, inserts, updates, deletes)")
+                .containsExactly(selects, inserts, updates, deletes);
+    }
+}
@@ -0,0 +1,34 @@
+package com.juandlr.spring_boot_testing.support;
+
+import net.ttddyy.dsproxy.listener.DataSourceQueryCountListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+// import into a test context to count the statements it sends, see StatementCount
+@TestConfiguration(proxyBeanMethods = false)
+public class StatementCountConfig {
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    DataSourceQueryCountListener allThreads = new DataSourceQueryCountListener();
+                    allThreads.setQueryCountStrategy(StatementCount.ALL_THREADS);
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(StatementCount.DATA_SOURCE_NAME)
+                            .countQuery()
+                            .listener(allThreads)
+                            .beforeQuery((execution, queries) -> StatementCount.awaitRelease())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}